@@ -1,5 +1,7 @@
 package com.zpi.apigateway.dto;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
@@ -7,8 +9,10 @@ import lombok.ToString;
 import java.util.List;
 
 @Getter
+@Builder
 @ToString
 @NoArgsConstructor
+@AllArgsConstructor
 public class ConnValidationResponse {
     private String status;
     private boolean isAuthenticated;
@@ -1,5 +1,6 @@
 package com.zpi.apigateway.security;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zpi.apigateway.dto.Authorities;
@@ -17,14 +18,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.Date;
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Component
 @Slf4j
@@ -33,11 +33,16 @@ public class AuthenticationPrefilter extends AbstractGatewayFilterFactory<Authen
     @Autowired
     @Qualifier("excludedUrls")
     List<String> excludedUrls;
-    private final WebClient.Builder webClientBuilder;
+    private final JwtTokenValidator jwtTokenValidator;
 
-    public AuthenticationPrefilter(WebClient.Builder webClientBuilder) {
+    /**
+     * Headers through which the gateway tells services who the user is, clients must not be able to set them.
+     */
+    static final List<String> IDENTITY_HEADERS = List.of("username", "authorities", "auth-token", "userId");
+
+    public AuthenticationPrefilter(JwtTokenValidator jwtTokenValidator) {
         super(Config.class);
-        this.webClientBuilder=webClientBuilder;
+        this.jwtTokenValidator=jwtTokenValidator;
     }
 
     @Autowired
@@ -53,27 +58,20 @@ public class AuthenticationPrefilter extends AbstractGatewayFilterFactory<Authen
             log.info("Bearer Token: "+ bearerToken);
 
             if(isSecured.test(request)) {
-                return webClientBuilder.build().get()
-                        .uri("lb://authentication-service/api/v1/validateToken")
-                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
-                        .retrieve().bodyToMono(ConnValidationResponse.class)
-                        .map(response -> {
-                            exchange.getRequest().mutate().header("username", response.getUsername());
-                            exchange.getRequest().mutate().header("authorities", response.getAuthorities().stream().map(
-                                    Authorities::getAuthority).reduce("", (a, b) -> a + "," + b));
-                            exchange.getRequest().mutate().header("auth-token", response.getToken());
-                            exchange.getRequest().mutate().header("userId", response.getUserId().toString());
-
-                            return exchange;
-                        }).flatMap(chain::filter).onErrorResume(error -> {
+                return Mono.fromCallable(() -> jwtTokenValidator.validate(bearerToken))
+                        .map(response -> exchange.mutate().request(r -> r.headers(headers -> {
+                            headers.set("username", response.getUsername());
+                            headers.set("authorities", response.getAuthorities().stream().map(
+                                    Authorities::getAuthority).collect(Collectors.joining(",")));
+                            headers.set("auth-token", response.getToken());
+                            headers.set("userId", response.getUserId().toString());
+                        })).build()).flatMap(chain::filter).onErrorResume(error -> {
                             log.info("Error Happened");
                             HttpStatus errorCode = null;
                             String errorMsg = "";
-                            if (error instanceof WebClientResponseException) {
-                                WebClientResponseException webCLientException = (WebClientResponseException) error;
-                                errorCode = webCLientException.getStatusCode();
-                                errorMsg = webCLientException.getStatusText();
-
+                            if (error instanceof JWTVerificationException) {
+                                errorCode = HttpStatus.UNAUTHORIZED;
+                                errorMsg = HttpStatus.UNAUTHORIZED.getReasonPhrase();
                             } else {
                                 errorCode = HttpStatus.BAD_GATEWAY;
                                 errorMsg = HttpStatus.BAD_GATEWAY.getReasonPhrase();
@@ -83,11 +81,11 @@ public class AuthenticationPrefilter extends AbstractGatewayFilterFactory<Authen
                         });
             }
 
-            return chain.filter(exchange);
+            return chain.filter(exchange.mutate().request(r -> r.headers(headers -> IDENTITY_HEADERS.forEach(headers::remove))).build());
         };
     }
 
-    public Predicate<ServerHttpRequest> isSecured = request -> excludedUrls.stream().noneMatch(uri -> request.getURI().getPath().contains(uri));
+    public Predicate<ServerHttpRequest> isSecured = request -> !excludedUrls.contains(request.getURI().getPath());
     private Mono<Void> onError(ServerWebExchange exchange, String errCode, String err, String errDetails, HttpStatus httpStatus) {
         DataBufferFactory dataBufferFactory = exchange.getResponse().bufferFactory();
 //        ObjectMapper objMapper = new ObjectMapper();
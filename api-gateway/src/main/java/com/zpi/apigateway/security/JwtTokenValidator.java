@@ -0,0 +1,64 @@
+package com.zpi.apigateway.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.RegisteredClaims;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.zpi.apigateway.dto.Authorities;
+import com.zpi.apigateway.dto.ConnValidationResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Verifies tokens issued by the authentication service with the shared signing secret, so that the gateway does not
+ * have to ask the authentication service about every request.
+ */
+@Component
+public class JwtTokenValidator {
+
+    public static final String USERNAME_CLAIM = "username";
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String AUTHORITIES_CLAIM = "authorities";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JWTVerifier verifier;
+
+    public JwtTokenValidator(@Value("${jwt.signing-secret}") String jwtSigningSecret) {
+        this.verifier = JWT.require(Algorithm.HMAC256(jwtSigningSecret))
+                           .withClaimPresence(RegisteredClaims.EXPIRES_AT)
+                           .build();
+    }
+
+    /**
+     * @throws JWTVerificationException when the header holds no bearer token, or the token is invalid, has expired,
+     *                                  does not expire or does not identify the user
+     */
+    public ConnValidationResponse validate(String bearerToken) {
+        if (bearerToken == null || !bearerToken.startsWith(BEARER_PREFIX))
+            throw new JWTVerificationException("Missing bearer token");
+
+        var jwt = verifier.verify(bearerToken.substring(BEARER_PREFIX.length()).trim());
+        var username = jwt.getClaim(USERNAME_CLAIM).asString();
+        var userId = jwt.getClaim(USER_ID_CLAIM).asLong();
+        if (username == null || userId == null)
+            throw new JWTVerificationException("Token does not identify the user");
+
+        var authorities = jwt.getClaim(AUTHORITIES_CLAIM).asList(String.class);
+        return ConnValidationResponse.builder()
+                                     .status("OK")
+                                     .methodType(HttpMethod.GET.name())
+                                     .username(username)
+                                     .token(jwt.getToken())
+                                     .userId(userId)
+                                     .authorities(authorities == null ? List.of() : authorities.stream()
+                                                                                              .map(Authorities::new)
+                                                                                              .toList())
+                                     .isAuthenticated(true)
+                                     .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.zpi.apigateway.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthenticationPrefilterTest {
+
+    private final AuthenticationPrefilter authenticationPrefilter = new AuthenticationPrefilter(new JwtTokenValidator("secret"));
+
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+
+    @BeforeEach
+    void setUp() {
+        authenticationPrefilter.excludedUrls = List.of("/api/v1/auth/refresh", "/api/v1/auth/logout");
+        ReflectionTestUtils.setField(authenticationPrefilter, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void shouldStripIdentityHeadersOnExcludedPath() {
+        //given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/auth/refresh")
+                                                                       .header("username", "admin@mail.com")
+                                                                       .header("userId", "1")
+                                                                       .header("authorities", "ROLE_ADMIN")
+                                                                       .header("auth-token", "forged")
+                                                                       .header("Refresh-Token", "token"));
+
+        //when
+        authenticationPrefilter.apply(new AuthenticationPrefilter.Config()).filter(exchange, chain).block();
+
+        //then
+        var headers = forwarded.get().getRequest().getHeaders();
+        AuthenticationPrefilter.IDENTITY_HEADERS.forEach(header -> assertThat(headers.containsKey(header)).isFalse());
+        assertThat(headers.getFirst("Refresh-Token")).isEqualTo("token");
+    }
+
+    @Test
+    void shouldAuthenticatePathOnlyContainingExcludedPath() {
+        //given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/groups;/api/v1/auth/logout")
+                                                                       .header("userId", "1"));
+
+        //when
+        authenticationPrefilter.apply(new AuthenticationPrefilter.Config()).filter(exchange, chain).block();
+
+        //then
+        assertThat(forwarded.get()).isNull();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+}
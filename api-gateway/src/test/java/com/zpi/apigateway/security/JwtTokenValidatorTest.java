@@ -0,0 +1,104 @@
+package com.zpi.apigateway.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.zpi.apigateway.dto.Authorities;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtTokenValidatorTest {
+
+    private static final String SECRET = "secret";
+
+    private final JwtTokenValidator jwtTokenValidator = new JwtTokenValidator(SECRET);
+
+    @Test
+    void shouldReadUserFromTokenSignedWithSharedSecret() {
+        //given
+        var token = JWT.create()
+                       .withClaim(JwtTokenValidator.USERNAME_CLAIM, "user@mail.com")
+                       .withClaim(JwtTokenValidator.USER_ID_CLAIM, 7L)
+                       .withExpiresAt(Instant.now().plusSeconds(60))
+                       .sign(Algorithm.HMAC256(SECRET));
+
+        //when
+        var result = jwtTokenValidator.validate("Bearer " + token);
+
+        //then
+        assertThat(result.getUsername()).isEqualTo("user@mail.com");
+        assertThat(result.getUserId()).isEqualTo(7L);
+        assertThat(result.getToken()).isEqualTo(token);
+        assertThat(result.getAuthorities()).isEmpty();
+    }
+
+    @Test
+    void shouldReadAuthoritiesClaim() {
+        //given
+        var token = JWT.create()
+                       .withClaim(JwtTokenValidator.USERNAME_CLAIM, "user@mail.com")
+                       .withClaim(JwtTokenValidator.USER_ID_CLAIM, 7L)
+                       .withExpiresAt(Instant.now().plusSeconds(60))
+                       .withClaim(JwtTokenValidator.AUTHORITIES_CLAIM, List.of("ROLE_USER"))
+                       .sign(Algorithm.HMAC256(SECRET));
+
+        //when
+        var result = jwtTokenValidator.validate("Bearer " + token);
+
+        //then
+        assertThat(result.getAuthorities()).extracting(Authorities::getAuthority).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithOtherSecret() {
+        //given
+        var token = JWT.create()
+                       .withClaim(JwtTokenValidator.USERNAME_CLAIM, "user@mail.com")
+                       .withClaim(JwtTokenValidator.USER_ID_CLAIM, 7L)
+                       .withExpiresAt(Instant.now().plusSeconds(60))
+                       .sign(Algorithm.HMAC256("other"));
+
+        //when
+        //then
+        assertThrows(JWTVerificationException.class, () -> jwtTokenValidator.validate("Bearer " + token));
+    }
+
+    @Test
+    void shouldRejectMissingBearerToken() {
+        //when
+        //then
+        assertThrows(JWTVerificationException.class, () -> jwtTokenValidator.validate(null));
+    }
+
+    @Test
+    void shouldRejectTokenWithoutExpiry() {
+        //given
+        var token = JWT.create()
+                       .withClaim(JwtTokenValidator.USERNAME_CLAIM, "user@mail.com")
+                       .withClaim(JwtTokenValidator.USER_ID_CLAIM, 7L)
+                       .sign(Algorithm.HMAC256(SECRET));
+
+        //when
+        //then
+        assertThrows(JWTVerificationException.class, () -> jwtTokenValidator.validate("Bearer " + token));
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        //given
+        var token = JWT.create()
+                       .withClaim(JwtTokenValidator.USERNAME_CLAIM, "user@mail.com")
+                       .withClaim(JwtTokenValidator.USER_ID_CLAIM, 7L)
+                       .withExpiresAt(Instant.now().minusSeconds(60))
+                       .sign(Algorithm.HMAC256(SECRET));
+
+        //when
+        //then
+        assertThrows(JWTVerificationException.class, () -> jwtTokenValidator.validate("Bearer " + token));
+    }
+}
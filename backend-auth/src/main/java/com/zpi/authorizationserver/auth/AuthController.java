@@ -1,15 +1,11 @@
 package com.zpi.authorizationserver.auth;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.zpi.authorizationserver.dto.LoginRequestBodyDto;
 import com.zpi.authorizationserver.dto.RegisterRequestDto;
 import com.zpi.authorizationserver.dto.UserDto;
 import com.zpi.authorizationserver.exceptions.ApiPermissionException;
 import com.zpi.authorizationserver.mapstruct.MapStructMapper;
-import com.zpi.authorizationserver.security.JwtTokenFilter;
 import com.zpi.authorizationserver.user.AppUserService;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,18 +18,20 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/v1/auth")
 public class AuthController {
 
-    private final String jwtSigningSecret;
+    public static final String REFRESH_TOKEN_HEADER = "Refresh-Token";
+
     private final AuthenticationManager authenticationManager;
     private final AppUserService appUserService;
     private final MapStructMapper mapStructMapper;
+    private final TokenService tokenService;
 
-    public AuthController(@Value("${jwt.signing-secret}") String jwtSigningSecret,
-                          AuthenticationManager authenticationManager,
-                          AppUserService appUserService, MapStructMapper mapStructMapper) {
-        this.jwtSigningSecret = jwtSigningSecret;
+    public AuthController(AuthenticationManager authenticationManager,
+                          AppUserService appUserService, MapStructMapper mapStructMapper,
+                          TokenService tokenService) {
         this.authenticationManager = authenticationManager;
         this.appUserService = appUserService;
         this.mapStructMapper = mapStructMapper;
+        this.tokenService = tokenService;
     }
 
     @PostMapping("/login")
@@ -45,24 +43,36 @@ public class AuthController {
             authenticationManager.authenticate(authToken);
 
             var user = appUserService.getAppUserByEmail(email);
-            var jwt = JWT.create()
-                         .withClaim(JwtTokenFilter.USERNAME_CLAIM, user.getEmail())
-                         .withClaim("userId", user.getUserId())
-                         .sign(Algorithm.HMAC256(jwtSigningSecret));
+            var tokens = tokenService.issueTokens(user.getUserId(), user.getEmail());
 
             var userDto = mapStructMapper.getUserDtoFromAppUser(user);
-            return ResponseEntity.ok()
-                                 .header(HttpHeaders.AUTHORIZATION, jwt)
-                                 .header("Access-Control-Expose-Headers","Authorization")
-                                 .body(userDto);
+            return withTokens(ResponseEntity.ok(), tokens).body(userDto);
         } catch (BadCredentialsException exception) {
             throw new ApiPermissionException("Incorrect email or password. Permission denied");
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<Void> refresh(@RequestHeader(REFRESH_TOKEN_HEADER) String refreshToken) {
+        var tokens = tokenService.refresh(refreshToken);
+        return withTokens(ResponseEntity.ok(), tokens).build();
+    }
+
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@RequestHeader(REFRESH_TOKEN_HEADER) String refreshToken) {
+        tokenService.revoke(refreshToken);
+    }
+
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
     public void register(@RequestBody RegisterRequestDto registerRequestDto) {
         appUserService.registerUser(registerRequestDto);
     }
-}
\ No newline at end of file
+
+    private ResponseEntity.BodyBuilder withTokens(ResponseEntity.BodyBuilder response, TokenPair tokens) {
+        return response.header(HttpHeaders.AUTHORIZATION, tokens.accessToken())
+                       .header(REFRESH_TOKEN_HEADER, tokens.refreshToken())
+                       .header("Access-Control-Expose-Headers", HttpHeaders.AUTHORIZATION + "," + REFRESH_TOKEN_HEADER);
+    }
+}
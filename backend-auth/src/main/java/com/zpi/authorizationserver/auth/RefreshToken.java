@@ -0,0 +1,49 @@
+package com.zpi.authorizationserver.auth;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * Refresh token given to the user, only its hash is stored. Used tokens are kept revoked until they expire, so that
+ * using one of them again can be told apart from using an unknown token. Expired tokens are deleted periodically.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+public class RefreshToken {
+    @Id
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "refresh_token_sequence"
+           )
+    @SequenceGenerator(
+            name = "refresh_token_sequence",
+            sequenceName = "refresh_token_sequence", allocationSize = 1)
+    @Column(name = "refresh_token_id", unique = true, nullable = false)
+    private Long refreshTokenId;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "username", nullable = false, length = 150)
+    private String username;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked", nullable = false)
+    private boolean revoked;
+
+    public RefreshToken(String tokenHash, Long userId, String username, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.username = username;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,4 @@
+package com.zpi.authorizationserver.auth;
+
+public record TokenPair(String accessToken, String refreshToken) {
+}
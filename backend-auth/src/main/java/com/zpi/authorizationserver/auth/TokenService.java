@@ -0,0 +1,126 @@
+package com.zpi.authorizationserver.auth;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.zpi.authorizationserver.exceptions.ApiPermissionException;
+import com.zpi.authorizationserver.security.JwtTokenFilter;
+import com.zpi.authorizationserver.security.UserDetailsCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Issues short-lived access tokens carrying the authorities of the user, so that they can be checked without asking
+ * this service, and long-lived refresh tokens exchanged for new access tokens without the password.
+ */
+@Service
+public class TokenService {
+
+    private static final int REFRESH_TOKEN_BYTES = 32;
+
+    private final Algorithm algorithm;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public TokenService(@Value("${jwt.signing-secret}") String jwtSigningSecret,
+                        @Value("${jwt.access-token-ttl:15m}") Duration accessTokenTtl,
+                        @Value("${jwt.refresh-token-ttl:14d}") Duration refreshTokenTtl,
+                        RefreshTokenRepository refreshTokenRepository,
+                        UserDetailsCache userDetailsCache) {
+        this.algorithm = Algorithm.HMAC256(jwtSigningSecret);
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userDetailsCache = userDetailsCache;
+    }
+
+    @Transactional
+    public TokenPair issueTokens(Long userId, String username) {
+        return new TokenPair(accessToken(userId, username), refreshToken(userId, username));
+    }
+
+    /**
+     * Exchanges the refresh token for new tokens, after which it cannot be used again. Using it again means that it
+     * has leaked, so every refresh token of the user gets revoked.
+     */
+    @Transactional(noRollbackFor = ApiPermissionException.class)
+    public TokenPair refresh(String refreshToken) {
+        var tokenHash = hash(refreshToken);
+        var stored = refreshTokenRepository.findByTokenHash(tokenHash)
+                                           .orElseThrow(TokenService::invalidRefreshToken);
+        if (refreshTokenRepository.revoke(tokenHash) == 0) {
+            refreshTokenRepository.revokeAllOfUser(stored.getUserId());
+            throw invalidRefreshToken();
+        }
+        if (stored.getExpiresAt().isBefore(Instant.now()))
+            throw invalidRefreshToken();
+
+        return issueTokens(stored.getUserId(), stored.getUsername());
+    }
+
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.revoke(hash(refreshToken));
+    }
+
+    /**
+     * Expired refresh tokens are rejected whether revoked or not, so they are no longer needed.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-token-purge-interval-millis:3600000}")
+    @Transactional
+    public void purgeExpiredRefreshTokens() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    private String accessToken(Long userId, String username) {
+        var authorities = userDetailsCache.get(username)
+                                          .getAuthorities()
+                                          .stream()
+                                          .map(GrantedAuthority::getAuthority)
+                                          .toList();
+        var now = Instant.now();
+        return JWT.create()
+                  .withClaim(JwtTokenFilter.USERNAME_CLAIM, username)
+                  .withClaim(JwtTokenFilter.USER_ID_CLAIM, userId)
+                  .withClaim(JwtTokenFilter.AUTHORITIES_CLAIM, authorities)
+                  .withIssuedAt(now)
+                  .withExpiresAt(now.plus(accessTokenTtl))
+                  .sign(algorithm);
+    }
+
+    private String refreshToken(Long userId, String username) {
+        var bytes = new byte[REFRESH_TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        var refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(refreshToken), userId, username,
+                                                     Instant.now().plus(refreshTokenTtl)));
+        return refreshToken;
+    }
+
+    private static String hash(String refreshToken) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ApiPermissionException invalidRefreshToken() {
+        return new ApiPermissionException("Invalid refresh token. Permission denied");
+    }
+}
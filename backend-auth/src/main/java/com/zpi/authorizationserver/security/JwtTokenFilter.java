@@ -1,6 +1,8 @@
 package com.zpi.authorizationserver.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.RegisteredClaims;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.Claim;
@@ -8,6 +10,8 @@ import com.auth0.jwt.interfaces.DecodedJWT;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -17,19 +21,23 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenFilter extends OncePerRequestFilter {
 
     public static final String USERNAME_CLAIM = "username";
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String AUTHORITIES_CLAIM = "authorities";
 
-    private final String jwtSigningSecret;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final JWTVerifier verifier;
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
 
-    public JwtTokenFilter(@Value("${jwt.signing-secret}") String jwtSigningSecret,
-                          UserDetailsServiceImpl userDetailsService) {
-        this.jwtSigningSecret = jwtSigningSecret;
-        this.userDetailsService = userDetailsService;
+    public JwtTokenFilter(@Value("${jwt.signing-secret}") String jwtSigningSecret) {
+        this.verifier = JWT.require(Algorithm.HMAC256(jwtSigningSecret))
+                           .withClaimPresence(RegisteredClaims.EXPIRES_AT)
+                           .build();
     }
 
     @Override
@@ -43,7 +51,6 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         var token = authHeader.split(" ")[1].trim();
 
         try {
-            var verifier = JWT.require(Algorithm.HMAC256(jwtSigningSecret)).build();
             var jwt = verifier.verify(token);
             setAuthentication(jwt, request);
         } catch (JWTVerificationException exception) {
@@ -53,20 +60,32 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Access tokens carry the authorities of the user and expire shortly, so the user is not loaded.
+     */
     private void setAuthentication(DecodedJWT jwt, HttpServletRequest request) {
         Claim usernameClaim = jwt.getClaim(USERNAME_CLAIM);
-        if (usernameClaim != null) {
+        if (!usernameClaim.isMissing()) {
             var username = usernameClaim.asString();
-            var userDetails = userDetailsService.loadUserByUsername(username);
-            var authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            var authorities = authoritiesOf(jwt);
+            var authentication = new UsernamePasswordAuthenticationToken(username, null, authorities);
+            authentication.setDetails(authenticationDetailsSource.buildDetails(request));
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            request.setAttribute("username", userDetails.getUsername());
+            request.setAttribute("username", username);
             request.setAttribute("jwt", jwt.getToken());
-            request.setAttribute("authorities", userDetails.getAuthorities());
-            request.setAttribute("userId", jwt.getClaim("userId").asLong());
+            request.setAttribute("authorities", authorities);
+            request.setAttribute("userId", jwt.getClaim(USER_ID_CLAIM).asLong());
         }
     }
+
+    private Set<GrantedAuthority> authoritiesOf(DecodedJWT jwt) {
+        var authorities = jwt.getClaim(AUTHORITIES_CLAIM).asList(String.class);
+        if (authorities == null)
+            return Set.of();
+        return authorities.stream()
+                          .map(SimpleGrantedAuthority::new)
+                          .collect(Collectors.toUnmodifiableSet());
+    }
 }
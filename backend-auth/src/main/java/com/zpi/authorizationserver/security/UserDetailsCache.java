@@ -0,0 +1,51 @@
+package com.zpi.authorizationserver.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Users given new access tokens, kept so that refreshing a token does not query the database. Only the username and
+ * the authorities are kept, the password hash is needed on login only, which always loads the user.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final UserDetailsServiceImpl userDetailsService;
+
+    private final Cache<String, UserDetails> users;
+
+    public UserDetailsCache(UserDetailsServiceImpl userDetailsService,
+                            @Value("${app.user-details-cache.ttl:5m}") Duration ttl,
+                            @Value("${app.user-details-cache.maximum-size:10000}") long maximumSize) {
+        this.userDetailsService = userDetailsService;
+        this.users = Caffeine.newBuilder()
+                             .expireAfterWrite(ttl)
+                             .maximumSize(maximumSize)
+                             .build();
+    }
+
+    public UserDetails get(String username) {
+        return users.get(username, this::load);
+    }
+
+    /**
+     * Drops the user, to be called whenever the account or the authorities of the user change.
+     */
+    public void invalidate(String username) {
+        users.invalidate(username);
+    }
+
+    private UserDetails load(String username) {
+        var userDetails = userDetailsService.loadUserByUsername(username);
+        return User.withUsername(userDetails.getUsername())
+                   .password("")
+                   .authorities(userDetails.getAuthorities())
+                   .build();
+    }
+}
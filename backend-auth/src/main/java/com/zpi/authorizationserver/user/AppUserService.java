@@ -3,6 +3,7 @@ package com.zpi.authorizationserver.user;
 import com.zpi.authorizationserver.dto.RegisterRequestDto;
 import com.zpi.authorizationserver.dto.UserDto;
 import com.zpi.authorizationserver.exceptions.ApiPermissionException;
+import com.zpi.authorizationserver.security.UserDetailsCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -15,6 +16,7 @@ import java.util.List;
 public class AppUserService {
     private final AppUserRepository appUserRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
 
 
     public List<UserDto> getUsers(List<Long> usersIds) {
@@ -49,5 +51,6 @@ public class AppUserService {
                                password);
         password.setAppUser(user);
         appUserRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
     }
 }
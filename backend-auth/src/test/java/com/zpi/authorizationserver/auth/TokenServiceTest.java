@@ -0,0 +1,135 @@
+package com.zpi.authorizationserver.auth;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.zpi.authorizationserver.exceptions.ApiPermissionException;
+import com.zpi.authorizationserver.security.JwtTokenFilter;
+import com.zpi.authorizationserver.security.UserDetailsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "secret";
+    private static final String USERNAME = "user@mail.com";
+    private static final Long USER_ID = 7L;
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+
+    private final UserDetailsCache userDetailsCache = mock(UserDetailsCache.class);
+
+    private final TokenService tokenService = new TokenService(SECRET, Duration.ofMinutes(15), Duration.ofDays(14),
+                                                               refreshTokenRepository, userDetailsCache);
+
+    @BeforeEach
+    void setUp() {
+        when(userDetailsCache.get(USERNAME))
+                .thenReturn(new User(USERNAME, "", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @Test
+    void shouldIssueExpiringAccessTokenWithAuthorities() {
+        //when
+        var result = tokenService.issueTokens(USER_ID, USERNAME);
+
+        //then
+        var jwt = JWT.require(Algorithm.HMAC256(SECRET)).build().verify(result.accessToken());
+        assertThat(jwt.getClaim(JwtTokenFilter.USERNAME_CLAIM).asString()).isEqualTo(USERNAME);
+        assertThat(jwt.getClaim(JwtTokenFilter.USER_ID_CLAIM).asLong()).isEqualTo(USER_ID);
+        assertThat(jwt.getClaim(JwtTokenFilter.AUTHORITIES_CLAIM).asList(String.class)).containsExactly("ROLE_USER");
+        assertThat(jwt.getExpiresAtAsInstant()).isBefore(Instant.now().plus(Duration.ofMinutes(16)));
+    }
+
+    @Test
+    void shouldStoreOnlyHashOfRefreshToken() {
+        //when
+        var result = tokenService.issueTokens(USER_ID, USERNAME);
+
+        //then
+        var captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getTokenHash()).hasSize(64).isNotEqualTo(result.refreshToken());
+        assertThat(captor.getValue().getUserId()).isEqualTo(USER_ID);
+    }
+
+    @Test
+    void shouldExchangeRefreshTokenForNewTokens() {
+        //given
+        var stored = new RefreshToken("hash", USER_ID, USERNAME, Instant.now().plusSeconds(60));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.revoke(anyString())).thenReturn(1);
+
+        //when
+        var result = tokenService.refresh("refresh-token");
+
+        //then
+        assertThat(result.refreshToken()).isNotEqualTo("refresh-token");
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(refreshTokenRepository, never()).revokeAllOfUser(any());
+    }
+
+    @Test
+    void shouldRevokeAllRefreshTokensOfUserWhenTokenIsUsedAgain() {
+        //given
+        var stored = new RefreshToken("hash", USER_ID, USERNAME, Instant.now().plusSeconds(60));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.revoke(anyString())).thenReturn(0);
+
+        //when
+        //then
+        assertThrows(ApiPermissionException.class, () -> tokenService.refresh("refresh-token"));
+        verify(refreshTokenRepository).revokeAllOfUser(USER_ID);
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void shouldRejectExpiredRefreshToken() {
+        //given
+        var stored = new RefreshToken("hash", USER_ID, USERNAME, Instant.now().minusSeconds(60));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.revoke(anyString())).thenReturn(1);
+
+        //when
+        //then
+        assertThrows(ApiPermissionException.class, () -> tokenService.refresh("refresh-token"));
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void shouldRejectUnknownRefreshToken() {
+        //given
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        //when
+        //then
+        assertThrows(ApiPermissionException.class, () -> tokenService.refresh("refresh-token"));
+    }
+
+    @Test
+    void shouldDeleteRefreshTokensExpiredBeforeNow() {
+        //given
+        var before = Instant.now();
+
+        //when
+        tokenService.purgeExpiredRefreshTokens();
+
+        //then
+        var now = ArgumentCaptor.forClass(Instant.class);
+        verify(refreshTokenRepository).deleteExpired(now.capture());
+        assertThat(now.getValue()).isBetween(before, Instant.now());
+    }
+}
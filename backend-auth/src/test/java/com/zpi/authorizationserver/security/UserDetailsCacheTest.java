@@ -0,0 +1,51 @@
+package com.zpi.authorizationserver.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class UserDetailsCacheTest {
+
+    private static final String USERNAME = "user@mail.com";
+
+    private final UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+
+    private final UserDetailsCache userDetailsCache = new UserDetailsCache(userDetailsService, Duration.ofMinutes(5), 100);
+
+    @Test
+    void shouldLoadUserOnceAndKeepNoPassword() {
+        //given
+        when(userDetailsService.loadUserByUsername(USERNAME))
+                .thenReturn(new User(USERNAME, "hash", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        //when
+        userDetailsCache.get(USERNAME);
+        var result = userDetailsCache.get(USERNAME);
+
+        //then
+        verify(userDetailsService, times(1)).loadUserByUsername(USERNAME);
+        assertThat(result.getUsername()).isEqualTo(USERNAME);
+        assertThat(result.getPassword()).isEmpty();
+        assertThat(result.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void shouldLoadUserAgainAfterInvalidation() {
+        //given
+        when(userDetailsService.loadUserByUsername(USERNAME)).thenReturn(new User(USERNAME, "hash", List.of()));
+        userDetailsCache.get(USERNAME);
+
+        //when
+        userDetailsCache.invalidate(USERNAME);
+        userDetailsCache.get(USERNAME);
+
+        //then
+        verify(userDetailsService, times(2)).loadUserByUsername(USERNAME);
+    }
+}
@@ -5,7 +5,6 @@ import com.zpi.dayplanservice.attraction.AttractionRepository;
 import com.zpi.dayplanservice.day_plan.DayPlanRepository;
 import com.zpi.dayplanservice.dto.DayPlanDto;
 import com.zpi.dayplanservice.exception.ApiPermissionException;
-import com.zpi.dayplanservice.proxies.TripGroupProxy;
 import com.zpi.dayplanservice.security.CustomUsernamePasswordAuthenticationToken;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -24,7 +23,7 @@ import static com.zpi.dayplanservice.exception.ExceptionInfo.INSUFFICIENT_PERMIS
 public class AuthorizationAspect {
 
     @Autowired
-    private TripGroupProxy tripGroupProxy;
+    private GroupMembershipCache groupMembershipCache;
 
     @Autowired
     private DayPlanRepository dayPlanRepository;
@@ -32,13 +31,11 @@ public class AuthorizationAspect {
     @Autowired
     private AttractionRepository attractionRepository;
 
-    private static final String INNER_COMMUNICATION = "microserviceCommunication";
-
 
     @Around("@annotation(AuthorizeCoordinator)")
     public Object authorizeCoordinator(ProceedingJoinPoint joinPoint) throws Throwable {
         CustomUsernamePasswordAuthenticationToken authentication = (CustomUsernamePasswordAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
-        if(!tripGroupProxy.isUserCoordinator(INNER_COMMUNICATION ,getGroupId(joinPoint), authentication.getUserId()))
+        if(!groupMembershipCache.isUserCoordinator(getGroupId(joinPoint), authentication.getUserId()))
             throw new ApiPermissionException(INSUFFICIENT_PERMISSIONS);
 
 
@@ -48,7 +45,7 @@ public class AuthorizationAspect {
     @Around("@annotation(AuthorizePartOfTheGroup)")
     public Object authorizePartOfTheGroup(ProceedingJoinPoint joinPoint) throws Throwable {
         CustomUsernamePasswordAuthenticationToken authentication = (CustomUsernamePasswordAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
-        if(!tripGroupProxy.isUserPartOfTheGroup(INNER_COMMUNICATION ,getGroupId(joinPoint), authentication.getUserId()))
+        if(!groupMembershipCache.isUserPartOfTheGroup(getGroupId(joinPoint), authentication.getUserId()))
             throw new ApiPermissionException(INSUFFICIENT_PERMISSIONS);
 
 
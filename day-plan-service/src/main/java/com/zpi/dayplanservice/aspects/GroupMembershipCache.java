@@ -0,0 +1,73 @@
+package com.zpi.dayplanservice.aspects;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zpi.dayplanservice.proxies.TripGroupProxy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Membership checks answered by trip-group-service, kept until a membership event for the group arrives. The ttl
+ * bounds staleness when an event is lost. Negative answers are not cached, so a user who has just joined or been
+ * promoted is let in at once even if the event is late.
+ */
+@Component
+public class GroupMembershipCache {
+
+    private static final String INNER_COMMUNICATION = "microserviceCommunication";
+
+    private final TripGroupProxy tripGroupProxy;
+
+    private final Cache<MembershipKey, Boolean> members;
+
+    private final Cache<MembershipKey, Boolean> coordinators;
+
+    public GroupMembershipCache(TripGroupProxy tripGroupProxy,
+                                @Value("${app.membership-cache.ttl:5m}") Duration ttl,
+                                @Value("${app.membership-cache.maximum-size:100000}") long maximumSize) {
+        this.tripGroupProxy = tripGroupProxy;
+        this.members = Caffeine.newBuilder()
+                               .expireAfterWrite(ttl)
+                               .maximumSize(maximumSize)
+                               .build();
+        this.coordinators = Caffeine.newBuilder()
+                                    .expireAfterWrite(ttl)
+                                    .maximumSize(maximumSize)
+                                    .build();
+    }
+
+    public boolean isUserPartOfTheGroup(Long groupId, Long userId) {
+        return Boolean.TRUE.equals(members.get(new MembershipKey(groupId, userId),
+                                               key -> positiveOnly(tripGroupProxy.isUserPartOfTheGroup(INNER_COMMUNICATION, groupId, userId))));
+    }
+
+    public boolean isUserCoordinator(Long groupId, Long userId) {
+        return Boolean.TRUE.equals(coordinators.get(new MembershipKey(groupId, userId),
+                                                    key -> positiveOnly(tripGroupProxy.isUserCoordinator(INNER_COMMUNICATION, groupId, userId))));
+    }
+
+    /**
+     * Caffeine does not store a null loaded value, so only positive answers stay in the cache.
+     */
+    private static Boolean positiveOnly(Boolean answer) {
+        return Boolean.TRUE.equals(answer) ? Boolean.TRUE : null;
+    }
+
+    /**
+     * Drops cached answers for the user in the group, or for every user of the group when {@code userId} is null.
+     */
+    public void invalidate(Long groupId, Long userId) {
+        if (userId == null) {
+            members.asMap().keySet().removeIf(key -> key.groupId().equals(groupId));
+            coordinators.asMap().keySet().removeIf(key -> key.groupId().equals(groupId));
+        } else {
+            members.invalidate(new MembershipKey(groupId, userId));
+            coordinators.invalidate(new MembershipKey(groupId, userId));
+        }
+    }
+
+    private record MembershipKey(Long groupId, Long userId) {
+    }
+}
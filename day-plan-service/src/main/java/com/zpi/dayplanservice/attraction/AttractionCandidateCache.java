@@ -0,0 +1,165 @@
+package com.zpi.dayplanservice.attraction;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zpi.dayplanservice.dto.AttractionCandidateDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Two level cache for candidate searches: search query to the list of found place ids and place id to the
+ * candidate enriched with place details. Queries older than {@code refreshAfter} are still served while a single
+ * background search refreshes them.
+ */
+@Slf4j
+@Component
+public class AttractionCandidateCache {
+
+    private final PlaceDetailsEnricher placeDetailsEnricher;
+
+    private final Executor refreshExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<String, CachedQuery> queries;
+
+    private final Cache<String, AttractionCandidateDto> details;
+
+    private final Duration refreshAfter;
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public AttractionCandidateCache(PlaceDetailsEnricher placeDetailsEnricher,
+                                    MeterRegistry meterRegistry,
+                                    @Qualifier("candidateRefreshExecutor") Executor refreshExecutor,
+                                    @Value("${app.candidate-cache.query-ttl:1d}") Duration queryTtl,
+                                    @Value("${app.candidate-cache.query-refresh-after:1h}") Duration refreshAfter,
+                                    @Value("${app.candidate-cache.query-maximum-size:10000}") long queryMaximumSize,
+                                    @Value("${app.candidate-cache.details-ttl:7d}") Duration detailsTtl,
+                                    @Value("${app.candidate-cache.details-maximum-size:50000}") long detailsMaximumSize) {
+        this.placeDetailsEnricher = placeDetailsEnricher;
+        this.refreshExecutor = refreshExecutor;
+        this.meterRegistry = meterRegistry;
+        this.refreshAfter = refreshAfter;
+        this.queries = Caffeine.newBuilder()
+                               .expireAfterWrite(queryTtl)
+                               .maximumSize(queryMaximumSize)
+                               .build();
+        this.details = Caffeine.newBuilder()
+                               .expireAfterWrite(detailsTtl)
+                               .maximumSize(detailsMaximumSize)
+                               .build();
+    }
+
+    /**
+     * Returns candidates for the query, calling {@code search} only when the query is not cached or some of its
+     * places are no longer cached. Search results are enriched with place details unless they are already known.
+     * A search returning {@code null} is treated as failed and is not cached.
+     */
+    public List<AttractionCandidateDto> get(String query, Supplier<List<AttractionCandidateDto>> search) {
+        var cached = queries.getIfPresent(query);
+        var candidates = cached == null ? null : resolve(cached.placeIds());
+        if (candidates == null) {
+            record(query, "miss");
+            return load(query, search);
+        }
+
+        if (cached.isOlderThan(refreshAfter)) {
+            record(query, "stale");
+            if (refreshing.add(query))
+                refreshInBackground(query, search);
+        } else {
+            record(query, "hit");
+        }
+        return candidates;
+    }
+
+    /**
+     * Counts lookups per query type (the query prefix before the first colon) so cache hit ratio can be tuned,
+     * e.g. against the geohash precision of nearby searches.
+     */
+    private void record(String query, String result) {
+        var separator = query.indexOf(':');
+        var type = separator < 0 ? "other" : query.substring(0, separator);
+        meterRegistry.counter("attraction.candidate.cache", "type", type, "result", result).increment();
+    }
+
+    private void refreshInBackground(String query, Supplier<List<AttractionCandidateDto>> search) {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(query, search);
+                } catch (RuntimeException e) {
+                    log.warn("Refreshing candidates for " + query + " failed: " + e.getMessage());
+                } finally {
+                    refreshing.remove(query);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(query);
+        }
+    }
+
+    private List<AttractionCandidateDto> load(String query, Supplier<List<AttractionCandidateDto>> search) {
+        var candidates = search.get();
+        if (candidates == null)
+            return new ArrayList<>();
+
+        var toEnrich = new ArrayList<AttractionCandidateDto>();
+        for (var candidate : candidates) {
+            var known = candidate.getPlaceId() == null ? null : details.getIfPresent(candidate.getPlaceId());
+            if (known == null) {
+                toEnrich.add(candidate);
+            } else {
+                candidate.setUrl(known.getUrl());
+                candidate.setOpeningHours(known.getOpeningHours());
+                candidate.setAddress(known.getAddress());
+                candidate.setPartial(false);
+            }
+        }
+        placeDetailsEnricher.enrich(toEnrich);
+
+        for (var candidate : candidates) {
+            if (candidate.getPlaceId() != null && !Boolean.TRUE.equals(candidate.getPartial()))
+                details.put(candidate.getPlaceId(), copy(candidate));
+        }
+        queries.put(query, new CachedQuery(candidates.stream().map(AttractionCandidateDto::getPlaceId).toList(), System.nanoTime()));
+        return candidates;
+    }
+
+    private List<AttractionCandidateDto> resolve(List<String> placeIds) {
+        var result = new ArrayList<AttractionCandidateDto>(placeIds.size());
+        for (var placeId : placeIds) {
+            var candidate = placeId == null ? null : details.getIfPresent(placeId);
+            if (candidate == null)
+                return null;
+            result.add(copy(candidate));
+        }
+        return result;
+    }
+
+    private static AttractionCandidateDto copy(AttractionCandidateDto candidate) {
+        return new AttractionCandidateDto(candidate.getAttractionName(), candidate.getAddress(), candidate.getOpeningHours(),
+                                          candidate.getLatitude(), candidate.getLongitude(), candidate.getPlaceId(),
+                                          candidate.getPhotoLink(), candidate.getUrl(), candidate.getDescription(),
+                                          candidate.getPartial());
+    }
+
+    private record CachedQuery(List<String> placeIds, long loadedAt) {
+        boolean isOlderThan(Duration age) {
+            return System.nanoTime() - loadedAt > age.toNanos();
+        }
+    }
+}
@@ -1,8 +1,6 @@
 package com.zpi.dayplanservice.attraction;
 
-import com.google.maps.DistanceMatrixApi;
 import com.google.maps.GeoApiContext;
-import com.google.maps.PlaceDetailsRequest;
 import com.google.maps.PlacesApi;
 import com.google.maps.model.*;
 import com.zpi.dayplanservice.aspects.AuthorizeCoordinator;
@@ -15,6 +13,7 @@ import com.zpi.dayplanservice.proxies.TripGroupProxy;
 import com.zpi.dayplanservice.security.CustomUsernamePasswordAuthenticationToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -39,6 +38,15 @@ public class AttractionService {
 
     private final TripGroupProxy tripGroupProxy;
 
+    private final DistanceMatrixCache distanceMatrixCache;
+
+    private final RouteSolverEngine routeSolverEngine;
+
+    private final AttractionCandidateCache attractionCandidateCache;
+
+    @Value("${app.nearby-cache.geohash-precision:6}")
+    private int geohashPrecision;
+
     private static final int RADIUS_DISTANCE = 50000;
 
     @AuthorizePartOfTheGroup
@@ -47,26 +55,27 @@ public class AttractionService {
     }
 
     public List<AttractionCandidateDto> findCandidates(String name) {
-        var foundCandidates = PlacesApi.textSearchQuery(context, name)
-                                       .awaitIgnoreError();
-
-        var result = convertToAttractionCandidateDto(foundCandidates.results);
-        getUrl(result);
-        System.out.println(foundCandidates);
-        return result;
+        var query = "text:" + name.trim().toLowerCase();
+        return attractionCandidateCache.get(query, () -> {
+            var foundCandidates = PlacesApi.textSearchQuery(context, name)
+                                           .awaitIgnoreError();
+            return foundCandidates == null ? null : convertToAttractionCandidateDto(foundCandidates.results);
+        });
     }
 
     public List<AttractionCandidateDto> findNearbyCandidates(Double longitude, Double latitude, String  queryCategory, RankByType rankByType) {
-        var coordinates = new LatLng(latitude, longitude);
+        var cell = Geohash.encode(latitude, longitude, geohashPrecision);
+        var coordinates = Geohash.center(cell);
         var rankBy = parseToRankBy(rankByType);
+        var category = queryCategory == null ? null : queryCategory.trim().toLowerCase();
+        var query = "nearby:" + cell + ":" + category + ":" + rankBy;
 
-        var foundCandidates = Optional.ofNullable(queryCategory)
-                .map(category -> findNearbyCandidatesByLocationAndCategory(coordinates, category, rankBy))
-                .orElseGet(() -> findNearbyCandidatesByLocation(coordinates));
-
-        var result = convertToAttractionCandidateDto(foundCandidates.results);
-        getUrl(result);
-        return result;
+        return attractionCandidateCache.get(query, () -> {
+            var foundCandidates = Optional.ofNullable(category)
+                    .map(c -> findNearbyCandidatesByLocationAndCategory(coordinates, c, rankBy))
+                    .orElseGet(() -> findNearbyCandidatesByLocation(coordinates));
+            return foundCandidates == null ? null : convertToAttractionCandidateDto(foundCandidates.results);
+        });
     }
 
 
@@ -168,24 +177,6 @@ public class AttractionService {
         return result;
     }
 
-    private List<AttractionCandidateDto> getUrl(List<AttractionCandidateDto> candidates) {
-        if(candidates == null)
-            return new ArrayList<>();
-
-        for (AttractionCandidateDto candidate : candidates) {
-            var placeDetails = PlacesApi.placeDetails(context, candidate.getPlaceId())
-                                        .fields(PlaceDetailsRequest.FieldMask.URL,
-                                                PlaceDetailsRequest.FieldMask.OPENING_HOURS,
-                                                PlaceDetailsRequest.FieldMask.FORMATTED_ADDRESS)
-                                        .awaitIgnoreError();
-            candidate.setUrl(placeDetails.url.toString());
-            candidate.setOpeningHours(new String[] {});
-            candidate.setAddress(placeDetails.formattedAddress);
-
-        }
-        return candidates;
-    }
-
     @Transactional
     public Attraction editAttraction(Attraction attraction) {
         if(attraction == null)
@@ -222,68 +213,33 @@ public class AttractionService {
     }
 
     public RouteDto findBestAttractionsOrder(List<Attraction> attractions) {
-        long minDistance = Long.MAX_VALUE;
-        RouteDto minRoute = null;
-        for (int i = 0; i < attractions.size(); i++) {
-            var route = findBestAttractionsOrder(attractions, i);
-            if (route.distance() < minDistance) {
-                minDistance = route.distance();
-                minRoute = route;
-            }
-        }
-        return minRoute;
+        return findBestAttractionsOrder(attractions, RouteSolver.ANY_START);
     }
 
     public RouteDto findBestAttractionsOrder(List<Attraction> attractions, int startingPointIndex) {
+        if(attractions.isEmpty())
+            return new RouteDto(new ArrayList<>(), 0L);
+
         var distanceMatrix = getDistanceMatrix(attractions);
-        var attractionList = new LinkedHashSet<Attraction>();
+        var order = routeSolverEngine.solve(distanceMatrix, startingPointIndex);
         var attractionDtoList = new ArrayList<AttractionPlanDto>();
-
-        int currentAttractionIndex = startingPointIndex;
-        attractionList.add(attractions.get(currentAttractionIndex));
-        attractionDtoList.add(new AttractionPlanDto(attractions.get(currentAttractionIndex)));
-
         var routeDistance = 0L;
 
-        while(attractions.size() != attractionList.size()) {
-            var minDistance = Long.MAX_VALUE;
-            var rowElems = distanceMatrix.rows[currentAttractionIndex].elements;
-            int bestAttractionIndex = -1;
-
-            for(int i = 0; i < rowElems.length; i++) {
-                if(i == currentAttractionIndex)
-                    continue;
-
-                if(rowElems[i].distance.inMeters < minDistance && !attractionList.contains(attractions.get(i))) {
-                    bestAttractionIndex = i;
-                    minDistance = rowElems[i].distance.inMeters;
-                }
-            }
-
-            if(minDistance != Long.MAX_VALUE) {
-                routeDistance += minDistance;
-                attractionDtoList.get(attractionDtoList.size() - 1)
-                                 .setDistanceToNextAttraction(Long.valueOf(minDistance)
-                                                                  .doubleValue());
+        for(int i = 0; i < order.length; i++) {
+            var attractionDto = new AttractionPlanDto(attractions.get(order[i]));
+            if(i + 1 < order.length) {
+                var distance = distanceMatrix[order[i]][order[i + 1]];
+                routeDistance += distance;
+                attractionDto.setDistanceToNextAttraction((double) distance);
             }
-
-
-            attractionList.add(attractions.get(bestAttractionIndex));
-            attractionDtoList.add(new AttractionPlanDto(attractions.get(bestAttractionIndex)));
-            currentAttractionIndex = bestAttractionIndex;
+            attractionDtoList.add(attractionDto);
         }
 
-        return new RouteDto(new ArrayList<>(attractionDtoList), routeDistance);
+        return new RouteDto(attractionDtoList, routeDistance);
     }
 
-
-    private DistanceMatrix getDistanceMatrix(List<Attraction> attractions) {
-        var attractionsCoordinates = getCoordinates(attractions);
-        var attractionsCoordinatesArray = attractionsCoordinates.toArray(new LatLng[0]);
-        return DistanceMatrixApi.newRequest(context)
-                                              .origins(attractionsCoordinatesArray)
-                                              .destinations(attractionsCoordinatesArray)
-                                              .awaitIgnoreError();
+    private long[][] getDistanceMatrix(List<Attraction> attractions) {
+        return distanceMatrixCache.getDistances(getCoordinates(attractions));
     }
 
     private List<LatLng> getCoordinates(List<Attraction> attractions) {
@@ -0,0 +1,138 @@
+package com.zpi.dayplanservice.attraction;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.maps.DistanceMatrixApi;
+import com.google.maps.GeoApiContext;
+import com.google.maps.model.DistanceMatrix;
+import com.google.maps.model.DistanceMatrixElement;
+import com.google.maps.model.LatLng;
+import com.zpi.dayplanservice.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.TreeSet;
+
+import static com.zpi.dayplanservice.exception.ExceptionInfo.DISTANCES_UNAVAILABLE;
+
+@Slf4j
+@Component
+public class DistanceMatrixCache {
+
+    public static final long UNREACHABLE = Integer.MAX_VALUE;
+
+    /**
+     * Origins and destinations sent in one request, keeping it within the limit of 25 per side and 100 elements of
+     * the Distance Matrix API.
+     */
+    private static final int MAX_POINTS_PER_REQUEST = 10;
+
+    private final GeoApiContext context;
+
+    private final Cache<DistanceKey, Long> distances;
+
+    public DistanceMatrixCache(GeoApiContext context,
+                               @Value("${app.distance-cache.ttl:7d}") Duration ttl,
+                               @Value("${app.distance-cache.maximum-size:100000}") long maximumSize) {
+        this.context = context;
+        this.distances = Caffeine.newBuilder()
+                                 .expireAfterWrite(ttl)
+                                 .maximumSize(maximumSize)
+                                 .build();
+    }
+
+    /**
+     * Returns distances in meters between every pair of given points, where {@code result[i][j]} is the distance
+     * from point i to point j. Only pairs which are not cached yet are requested from the Distance Matrix API.
+     * Pairs without a route are cached and reported as {@link #UNREACHABLE}, while a failed request throws
+     * {@link ServiceUnavailableException} once the distances of the other requests are cached.
+     */
+    public long[][] getDistances(List<LatLng> points) {
+        var size = points.size();
+        var result = new long[size][size];
+        var missingOrigins = new TreeSet<Integer>();
+        var missingDestinations = new TreeSet<Integer>();
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (i == j) {
+                    continue;
+                }
+                var cached = distances.getIfPresent(new DistanceKey(points.get(i), points.get(j)));
+                if (cached == null) {
+                    missingOrigins.add(i);
+                    missingDestinations.add(j);
+                    result[i][j] = UNREACHABLE;
+                } else {
+                    result[i][j] = cached;
+                }
+            }
+        }
+
+        if (!missingOrigins.isEmpty()) {
+            fetchMissing(points, missingOrigins.stream().toList(), missingDestinations.stream().toList(), result);
+        }
+        return result;
+    }
+
+    private void fetchMissing(List<LatLng> points, List<Integer> origins, List<Integer> destinations, long[][] result) {
+        log.info("Fetching distance matrix for " + origins.size() + " origins and " + destinations.size() + " destinations");
+        var failed = false;
+        for (int from = 0; from < origins.size(); from += MAX_POINTS_PER_REQUEST) {
+            var originsChunk = origins.subList(from, Math.min(from + MAX_POINTS_PER_REQUEST, origins.size()));
+            for (int to = 0; to < destinations.size(); to += MAX_POINTS_PER_REQUEST) {
+                var destinationsChunk = destinations.subList(to, Math.min(to + MAX_POINTS_PER_REQUEST, destinations.size()));
+                failed |= !fetchChunk(points, originsChunk, destinationsChunk, result);
+            }
+        }
+        if (failed) {
+            throw new ServiceUnavailableException(DISTANCES_UNAVAILABLE);
+        }
+    }
+
+    private boolean fetchChunk(List<LatLng> points, List<Integer> origins, List<Integer> destinations, long[][] result) {
+        DistanceMatrix distanceMatrix = DistanceMatrixApi.newRequest(context)
+                                                         .origins(origins.stream().map(points::get).toArray(LatLng[]::new))
+                                                         .destinations(destinations.stream().map(points::get).toArray(LatLng[]::new))
+                                                         .awaitIgnoreError();
+        if (distanceMatrix == null) {
+            log.warn("Distance matrix request for " + origins.size() + " origins and " + destinations.size() + " destinations failed");
+            return false;
+        }
+
+        for (int row = 0; row < origins.size(); row++) {
+            var elements = distanceMatrix.rows[row].elements;
+            for (int column = 0; column < destinations.size(); column++) {
+                int i = origins.get(row);
+                int j = destinations.get(column);
+                var distance = distanceOf(elements[column]);
+                if (i == j || distance == null) {
+                    continue;
+                }
+                distances.put(new DistanceKey(points.get(i), points.get(j)), distance);
+                result[i][j] = distance;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Distance of a pair the API resolved, {@link #UNREACHABLE} when it found no route between the points, so that
+     * is cached too, or null when the pair has no answer.
+     */
+    private Long distanceOf(DistanceMatrixElement element) {
+        if (element == null || element.status == null) {
+            return null;
+        }
+        return switch (element.status) {
+            case OK -> element.distance == null ? null : element.distance.inMeters;
+            case NOT_FOUND, ZERO_RESULTS -> UNREACHABLE;
+        };
+    }
+
+    private record DistanceKey(LatLng origin, LatLng destination) {
+    }
+}
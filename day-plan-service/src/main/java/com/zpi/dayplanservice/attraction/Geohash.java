@@ -0,0 +1,72 @@
+package com.zpi.dayplanservice.attraction;
+
+import com.google.maps.model.LatLng;
+
+/**
+ * Geohash encoding used to bucket nearby searches into cells. Precision is the number of base32 characters,
+ * e.g. 5 gives cells of roughly 4.9 x 4.9 km and 6 of roughly 1.2 x 0.6 km.
+ */
+public final class Geohash {
+    private Geohash(){}
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    public static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION)
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION);
+
+        double[] latitudeRange = {-90.0, 90.0};
+        double[] longitudeRange = {-180.0, 180.0};
+        var hash = new StringBuilder(precision);
+        var evenBit = true;
+        int bit = 0;
+        int character = 0;
+
+        while (hash.length() < precision) {
+            var range = evenBit ? longitudeRange : latitudeRange;
+            var value = evenBit ? longitude : latitude;
+            var middle = (range[0] + range[1]) / 2;
+            if (value >= middle) {
+                character = (character << 1) | 1;
+                range[0] = middle;
+            } else {
+                character = character << 1;
+                range[1] = middle;
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(character));
+                bit = 0;
+                character = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    public static LatLng center(String geohash) {
+        double[] latitudeRange = {-90.0, 90.0};
+        double[] longitudeRange = {-180.0, 180.0};
+        var evenBit = true;
+
+        for (char c : geohash.toCharArray()) {
+            var character = BASE32.indexOf(c);
+            if (character < 0)
+                throw new IllegalArgumentException("Invalid geohash: " + geohash);
+
+            for (int mask = 16; mask > 0; mask >>= 1) {
+                var range = evenBit ? longitudeRange : latitudeRange;
+                var middle = (range[0] + range[1]) / 2;
+                if ((character & mask) != 0) {
+                    range[0] = middle;
+                } else {
+                    range[1] = middle;
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new LatLng((latitudeRange[0] + latitudeRange[1]) / 2, (longitudeRange[0] + longitudeRange[1]) / 2);
+    }
+}
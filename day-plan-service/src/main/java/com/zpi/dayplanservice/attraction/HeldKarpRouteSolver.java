@@ -0,0 +1,72 @@
+package com.zpi.dayplanservice.attraction;
+
+import java.util.Arrays;
+
+/**
+ * Exact dynamic programming solver, runs in O(2^n * n^2) so it is meant only for small days.
+ */
+public class HeldKarpRouteSolver implements RouteSolver {
+
+    public static final int MAX_SIZE = 16;
+
+    private static final long INFINITY = Long.MAX_VALUE / 2;
+
+    @Override
+    public int[] solve(long[][] distances, int startIndex, long deadline) {
+        var size = distances.length;
+        if (size > MAX_SIZE)
+            throw new IllegalArgumentException("Held-Karp solver supports at most " + MAX_SIZE + " points");
+        if (size <= 1)
+            return size == 0 ? new int[0] : new int[] {0};
+
+        var subsets = 1 << size;
+        var cost = new long[subsets][size];
+        var previous = new int[subsets][size];
+        for (long[] row : cost) {
+            Arrays.fill(row, INFINITY);
+        }
+        for (int i = 0; i < size; i++) {
+            if (startIndex == ANY_START || startIndex == i) {
+                cost[1 << i][i] = 0;
+                previous[1 << i][i] = -1;
+            }
+        }
+
+        for (int visited = 1; visited < subsets; visited++) {
+            for (int last = 0; last < size; last++) {
+                var current = cost[visited][last];
+                if (current == INFINITY || (visited & (1 << last)) == 0)
+                    continue;
+
+                for (int next = 0; next < size; next++) {
+                    if ((visited & (1 << next)) != 0)
+                        continue;
+
+                    var extended = visited | (1 << next);
+                    var candidate = current + distances[last][next];
+                    if (candidate < cost[extended][next]) {
+                        cost[extended][next] = candidate;
+                        previous[extended][next] = last;
+                    }
+                }
+            }
+        }
+
+        var all = subsets - 1;
+        var last = 0;
+        for (int i = 1; i < size; i++) {
+            if (cost[all][i] < cost[all][last])
+                last = i;
+        }
+
+        var order = new int[size];
+        var visited = all;
+        for (int position = size - 1; position >= 0; position--) {
+            order[position] = last;
+            var before = previous[visited][last];
+            visited &= ~(1 << last);
+            last = before;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,164 @@
+package com.zpi.dayplanservice.attraction;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Builds a nearest neighbour route and improves it with 2-opt and Or-opt moves until no improving move is left
+ * or the deadline passes. Distances do not have to be symmetric.
+ */
+public class LocalSearchRouteSolver implements RouteSolver {
+
+    private static final int MAX_OR_OPT_SEGMENT = 3;
+
+    private final LongSupplier nanoClock;
+
+    public LocalSearchRouteSolver() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock source of {@link System#nanoTime()}-like values the deadline is compared with
+     */
+    public LocalSearchRouteSolver(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public int[] solve(long[][] distances, int startIndex, long deadline) {
+        if (distances.length <= 1)
+            return distances.length == 0 ? new int[0] : new int[] {0};
+
+        var order = startIndex == ANY_START ? bestNearestNeighbourRoute(distances, deadline) : nearestNeighbourRoute(distances, startIndex);
+        var firstMovable = startIndex == ANY_START ? 0 : 1;
+
+        var improved = true;
+        while (improved && nanoClock.getAsLong() < deadline) {
+            improved = twoOpt(distances, order, firstMovable) || orOpt(distances, order, firstMovable);
+        }
+        return order;
+    }
+
+    static int[] nearestNeighbourRoute(long[][] distances, int startIndex) {
+        var size = distances.length;
+        var order = new int[size];
+        var visited = new boolean[size];
+        order[0] = startIndex;
+        visited[startIndex] = true;
+
+        for (int position = 1; position < size; position++) {
+            var current = order[position - 1];
+            var best = -1;
+            for (int candidate = 0; candidate < size; candidate++) {
+                if (!visited[candidate] && (best == -1 || distances[current][candidate] < distances[current][best]))
+                    best = candidate;
+            }
+            order[position] = best;
+            visited[best] = true;
+        }
+        return order;
+    }
+
+    /**
+     * Tries starts one by one, each costing O(n^2), and keeps the shortest route found before the deadline.
+     */
+    private int[] bestNearestNeighbourRoute(long[][] distances, long deadline) {
+        int[] best = null;
+        var bestLength = Long.MAX_VALUE;
+        for (int start = 0; start < distances.length && (best == null || nanoClock.getAsLong() < deadline); start++) {
+            var route = nearestNeighbourRoute(distances, start);
+            var length = RouteSolver.routeLength(distances, route);
+            if (length < bestLength) {
+                best = route;
+                bestLength = length;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Reverses the first segment {@code order[i..j]} whose reversal shortens the route.
+     */
+    private boolean twoOpt(long[][] d, int[] order, int firstMovable) {
+        var last = order.length - 1;
+        for (int i = firstMovable; i < last; i++) {
+            var forward = 0L;
+            var backward = 0L;
+            for (int j = i + 1; j <= last; j++) {
+                forward += d[order[j - 1]][order[j]];
+                backward += d[order[j]][order[j - 1]];
+
+                var before = forward;
+                var after = backward;
+                if (i > 0) {
+                    before += d[order[i - 1]][order[i]];
+                    after += d[order[i - 1]][order[j]];
+                }
+                if (j < last) {
+                    before += d[order[j]][order[j + 1]];
+                    after += d[order[i]][order[j + 1]];
+                }
+
+                if (after < before) {
+                    reverse(order, i, j);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the first segment of up to {@value #MAX_OR_OPT_SEGMENT} points whose relocation shortens the route.
+     */
+    private boolean orOpt(long[][] d, int[] order, int firstMovable) {
+        var size = order.length;
+        for (int length = 1; length <= MAX_OR_OPT_SEGMENT && length < size; length++) {
+            for (int i = firstMovable; i + length <= size; i++) {
+                var first = order[i];
+                var end = order[i + length - 1];
+                var previous = i > 0 ? order[i - 1] : -1;
+                var next = i + length < size ? order[i + length] : -1;
+                var removalGain = edge(d, previous, first) + edge(d, end, next) - edge(d, previous, next);
+
+                // insertion between order[k - 1] and order[k], with k == size meaning the end of the route
+                for (int k = firstMovable; k <= size; k++) {
+                    if (k >= i && k <= i + length)
+                        continue;
+
+                    var a = k > 0 ? order[k - 1] : -1;
+                    var b = k < size ? order[k] : -1;
+                    var insertionCost = edge(d, a, first) + edge(d, end, b) - edge(d, a, b);
+                    if (insertionCost < removalGain) {
+                        moveSegment(order, i, length, k);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static long edge(long[][] d, int from, int to) {
+        return from == -1 || to == -1 ? 0 : d[from][to];
+    }
+
+    private static void reverse(int[] order, int i, int j) {
+        while (i < j) {
+            var tmp = order[i];
+            order[i++] = order[j];
+            order[j--] = tmp;
+        }
+    }
+
+    private static void moveSegment(int[] order, int i, int length, int k) {
+        var segment = new int[length];
+        System.arraycopy(order, i, segment, 0, length);
+        if (k < i) {
+            System.arraycopy(order, k, order, k + length, i - k);
+            System.arraycopy(segment, 0, order, k, length);
+        } else {
+            System.arraycopy(order, i + length, order, i, k - i - length);
+            System.arraycopy(segment, 0, order, k - length, length);
+        }
+    }
+}
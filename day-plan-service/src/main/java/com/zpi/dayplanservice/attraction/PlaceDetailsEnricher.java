@@ -0,0 +1,111 @@
+package com.zpi.dayplanservice.attraction;
+
+import com.google.maps.GeoApiContext;
+import com.google.maps.PendingResult;
+import com.google.maps.PlaceDetailsRequest;
+import com.google.maps.PlacesApi;
+import com.google.maps.model.PlaceDetails;
+import com.zpi.dayplanservice.dto.AttractionCandidateDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fills candidates with url and address from Place Details. Lookups run concurrently (at most
+ * {@code maxConcurrency} at once) and the whole batch is bounded by {@code deadline}; candidates whose details
+ * did not arrive in time are returned as they are and marked as partial.
+ */
+@Slf4j
+@Component
+public class PlaceDetailsEnricher {
+
+    private final GeoApiContext context;
+
+    private final int maxConcurrency;
+
+    private final Duration deadline;
+
+    public PlaceDetailsEnricher(GeoApiContext context,
+                                @Value("${app.place-details.max-concurrency:8}") int maxConcurrency,
+                                @Value("${app.place-details.deadline:2s}") Duration deadline) {
+        this.context = context;
+        this.maxConcurrency = maxConcurrency;
+        this.deadline = deadline;
+    }
+
+    public List<AttractionCandidateDto> enrich(List<AttractionCandidateDto> candidates) {
+        if (candidates == null)
+            return new ArrayList<>();
+
+        var end = System.nanoTime() + deadline.toNanos();
+        var details = new AtomicReferenceArray<PlaceDetails>(candidates.size());
+        var pending = new ArrayList<PendingResult<PlaceDetails>>();
+        var finished = new CountDownLatch(candidates.size());
+        var permits = new Semaphore(maxConcurrency);
+
+        try {
+            for (int i = 0; i < candidates.size(); i++) {
+                if (!permits.tryAcquire(end - System.nanoTime(), TimeUnit.NANOSECONDS))
+                    break;
+
+                var index = i;
+                var request = PlacesApi.placeDetails(context, candidates.get(i).getPlaceId())
+                                       .fields(PlaceDetailsRequest.FieldMask.URL,
+                                               PlaceDetailsRequest.FieldMask.OPENING_HOURS,
+                                               PlaceDetailsRequest.FieldMask.FORMATTED_ADDRESS);
+                pending.add(request);
+                try {
+                    request.setCallback(new PendingResult.Callback<>() {
+                        @Override
+                        public void onResult(PlaceDetails result) {
+                            details.set(index, result);
+                            permits.release();
+                            finished.countDown();
+                        }
+
+                        @Override
+                        public void onFailure(Throwable e) {
+                            log.warn("Place details lookup failed for " + candidates.get(index).getPlaceId() + ": " + e.getMessage());
+                            permits.release();
+                            finished.countDown();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    log.warn("Place details lookup rejected for " + candidates.get(index).getPlaceId() + ": " + e.getMessage());
+                    permits.release();
+                    finished.countDown();
+                }
+            }
+            finished.await(end - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (int i = 0; i < candidates.size(); i++) {
+            var placeDetails = details.get(i);
+            if (placeDetails == null) {
+                candidates.get(i).setPartial(true);
+                if (i < pending.size())
+                    pending.get(i).cancel();
+            } else {
+                applyDetails(candidates.get(i), placeDetails);
+            }
+        }
+        return candidates;
+    }
+
+    private void applyDetails(AttractionCandidateDto candidate, PlaceDetails placeDetails) {
+        candidate.setUrl(placeDetails.url == null ? null : placeDetails.url.toString());
+        candidate.setOpeningHours(new String[] {});
+        candidate.setAddress(placeDetails.formattedAddress);
+        candidate.setPartial(false);
+    }
+}
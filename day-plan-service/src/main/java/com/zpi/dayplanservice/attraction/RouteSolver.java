@@ -0,0 +1,26 @@
+package com.zpi.dayplanservice.attraction;
+
+/**
+ * Finds the order in which points should be visited so that the total length of the (open) route is minimal.
+ * Distances are given as a matrix where {@code distances[i][j]} is the distance from point i to point j.
+ */
+public interface RouteSolver {
+
+    int ANY_START = -1;
+
+    /**
+     * @param distances   square distance matrix
+     * @param startIndex  index of the point the route has to start from or {@link #ANY_START}
+     * @param deadline    {@link System#nanoTime()} value after which the solver should return its best route so far
+     * @return indexes of all points in visiting order
+     */
+    int[] solve(long[][] distances, int startIndex, long deadline);
+
+    static long routeLength(long[][] distances, int[] order) {
+        var length = 0L;
+        for (int i = 0; i + 1 < order.length; i++) {
+            length += distances[order[i]][order[i + 1]];
+        }
+        return length;
+    }
+}
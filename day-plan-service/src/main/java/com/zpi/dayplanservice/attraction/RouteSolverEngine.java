@@ -0,0 +1,78 @@
+package com.zpi.dayplanservice.attraction;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
+
+/**
+ * Picks the solver for a day: exact for small days, local search bounded by the time budget for bigger ones.
+ * When the starting point is free, local search is run from every start, spread over the optimization pool.
+ */
+@Component
+public class RouteSolverEngine {
+
+    private final RouteSolver exactSolver = new HeldKarpRouteSolver();
+
+    private final RouteSolver localSearchSolver = new LocalSearchRouteSolver();
+
+    private final Executor routeOptimizationExecutor;
+
+    private final int parallelism;
+
+    private final int exactSolverLimit;
+
+    private final Duration timeBudget;
+
+    public RouteSolverEngine(@Qualifier("routeOptimizationExecutor") Executor routeOptimizationExecutor,
+                             @Value("${app.route-optimization.pool-size:4}") int parallelism,
+                             @Value("${app.route-optimization.exact-solver-limit:12}") int exactSolverLimit,
+                             @Value("${app.route-optimization.time-budget:500ms}") Duration timeBudget) {
+        if (exactSolverLimit > HeldKarpRouteSolver.MAX_SIZE)
+            throw new IllegalArgumentException("Exact solver limit cannot exceed " + HeldKarpRouteSolver.MAX_SIZE);
+
+        this.routeOptimizationExecutor = routeOptimizationExecutor;
+        this.parallelism = parallelism;
+        this.exactSolverLimit = exactSolverLimit;
+        this.timeBudget = timeBudget;
+    }
+
+    public int[] solve(long[][] distances, int startIndex) {
+        var deadline = System.nanoTime() + timeBudget.toNanos();
+        if (distances.length <= exactSolverLimit)
+            return exactSolver.solve(distances, startIndex, deadline);
+
+        if (startIndex != RouteSolver.ANY_START)
+            return localSearchSolver.solve(distances, startIndex, deadline);
+
+        var tasks = Math.min(parallelism, distances.length);
+        var candidateRoutes = IntStream.range(0, tasks)
+                                       .mapToObj(task -> CompletableFuture.supplyAsync(() -> solveFromStarts(distances, task, tasks, deadline),
+                                                                                       routeOptimizationExecutor))
+                                       .toList();
+
+        return candidateRoutes.stream()
+                              .map(CompletableFuture::join)
+                              .min(Comparator.comparingLong(route -> RouteSolver.routeLength(distances, route)))
+                              .orElseThrow();
+    }
+
+    private int[] solveFromStarts(long[][] distances, int firstStart, int step, long deadline) {
+        int[] best = null;
+        var bestLength = Long.MAX_VALUE;
+        for (int start = firstStart; start < distances.length && (best == null || System.nanoTime() < deadline); start += step) {
+            var route = localSearchSolver.solve(distances, start, deadline);
+            var length = RouteSolver.routeLength(distances, route);
+            if (length < bestLength) {
+                best = route;
+                bestLength = length;
+            }
+        }
+        return best;
+    }
+}
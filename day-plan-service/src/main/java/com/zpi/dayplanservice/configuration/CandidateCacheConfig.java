@@ -0,0 +1,27 @@
+package com.zpi.dayplanservice.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class CandidateCacheConfig {
+
+    @Value("${app.candidate-cache.refresh-pool-size:2}")
+    private int poolSize;
+
+    @Value("${app.candidate-cache.refresh-queue-capacity:50}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor candidateRefreshExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("candidate-refresh-");
+        executor.initialize();
+        return executor;
+    }
+}
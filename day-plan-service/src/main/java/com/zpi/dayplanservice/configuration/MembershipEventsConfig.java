@@ -0,0 +1,17 @@
+package com.zpi.dayplanservice.configuration;
+
+import com.zpi.dayplanservice.aspects.GroupMembershipCache;
+import com.zpi.dayplanservice.dto.MembershipChangedEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Consumer;
+
+@Configuration
+public class MembershipEventsConfig {
+
+    @Bean
+    public Consumer<MembershipChangedEvent> membershipChanged(GroupMembershipCache groupMembershipCache) {
+        return event -> groupMembershipCache.invalidate(event.groupId(), event.userId());
+    }
+}
@@ -52,6 +52,11 @@ public class AttractionCandidateDto {
     @JsonProperty("description")
     private String description;
 
+    @Setter
+    @Getter
+    @JsonProperty("partial")
+    private Boolean partial;
+
     public AttractionCandidateDto(String attractionName, Double latitude, Double longitude, String placeId,
                                   String photoLink) {
         this.attractionName = attractionName;
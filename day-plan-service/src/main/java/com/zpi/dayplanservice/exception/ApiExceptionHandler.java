@@ -46,6 +46,11 @@ public class ApiExceptionHandler {
         return handleExceptions(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
     }
 
+    @ExceptionHandler(value = {ServiceUnavailableException.class})
+    public ResponseEntity<Object> handleServiceUnavailableException(ServiceUnavailableException ex){
+        return handleExceptions(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     private ResponseEntity<Object> handleExceptions(String message, HttpStatus request){
         ApiException apiException = new ApiException(message, request, ZonedDateTime.now(ZONE_ID));
         return new ResponseEntity<>(apiException, request);
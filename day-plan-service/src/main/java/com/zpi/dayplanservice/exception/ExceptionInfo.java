@@ -38,4 +38,6 @@ public final class ExceptionInfo {
     public final static String UNPROCESSABLE_ENTITY_FEIGN = "Given entity was unprocessable";
 
     public final static String SERVICE_UNAVAILABLE_FEIGN = "Requested service is currently unavailable";
+
+    public final static String DISTANCES_UNAVAILABLE = "Distances between attractions are currently unavailable";
 }
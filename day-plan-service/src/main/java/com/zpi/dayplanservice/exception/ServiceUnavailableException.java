@@ -0,0 +1,8 @@
+package com.zpi.dayplanservice.exception;
+
+public class ServiceUnavailableException extends RuntimeException{
+    public ServiceUnavailableException(String message){
+        super(message);
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.zpi.dayplanservice.aspects;
+
+import com.zpi.dayplanservice.configuration.MembershipEventsConfig;
+import com.zpi.dayplanservice.dto.MembershipChangedEvent;
+import com.zpi.dayplanservice.proxies.TripGroupProxy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class GroupMembershipCacheTests {
+
+    TripGroupProxy tripGroupProxy;
+
+    GroupMembershipCache groupMembershipCache;
+
+    @BeforeEach
+    void setUp() {
+        tripGroupProxy = mock(TripGroupProxy.class);
+        groupMembershipCache = new GroupMembershipCache(tripGroupProxy, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    void shouldAskTripGroupServiceOnceForRepeatedChecks() {
+        //given
+        when(tripGroupProxy.isUserPartOfTheGroup(anyString(), anyLong(), anyLong())).thenReturn(true);
+
+        //when
+        var first = groupMembershipCache.isUserPartOfTheGroup(1L, 2L);
+        var second = groupMembershipCache.isUserPartOfTheGroup(1L, 2L);
+
+        //then
+        assertTrue(first);
+        assertTrue(second);
+        verify(tripGroupProxy, times(1)).isUserPartOfTheGroup(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void shouldNotCacheAbsentMembership() {
+        //given
+        when(tripGroupProxy.isUserPartOfTheGroup(anyString(), anyLong(), anyLong())).thenReturn(false);
+        assertFalse(groupMembershipCache.isUserPartOfTheGroup(1L, 2L));
+
+        //when
+        when(tripGroupProxy.isUserPartOfTheGroup(anyString(), anyLong(), anyLong())).thenReturn(true);
+        var result = groupMembershipCache.isUserPartOfTheGroup(1L, 2L);
+
+        //then
+        assertTrue(result);
+        verify(tripGroupProxy, times(2)).isUserPartOfTheGroup(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void shouldAskAgainAfterMembershipEvent() {
+        //given
+        var consumer = new MembershipEventsConfig().membershipChanged(groupMembershipCache);
+        when(tripGroupProxy.isUserCoordinator(anyString(), anyLong(), anyLong())).thenReturn(false);
+        assertFalse(groupMembershipCache.isUserCoordinator(1L, 2L));
+
+        //when
+        when(tripGroupProxy.isUserCoordinator(anyString(), anyLong(), anyLong())).thenReturn(true);
+        consumer.accept(new MembershipChangedEvent(1L, 2L));
+        var result = groupMembershipCache.isUserCoordinator(1L, 2L);
+
+        //then
+        assertTrue(result);
+        verify(tripGroupProxy, times(2)).isUserCoordinator(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void shouldDropWholeGroupOnGroupEvent() {
+        //given
+        when(tripGroupProxy.isUserPartOfTheGroup(anyString(), anyLong(), anyLong())).thenReturn(true);
+        groupMembershipCache.isUserPartOfTheGroup(1L, 2L);
+        groupMembershipCache.isUserPartOfTheGroup(1L, 3L);
+        groupMembershipCache.isUserPartOfTheGroup(4L, 2L);
+
+        //when
+        groupMembershipCache.invalidate(1L, null);
+        groupMembershipCache.isUserPartOfTheGroup(1L, 2L);
+        groupMembershipCache.isUserPartOfTheGroup(1L, 3L);
+        groupMembershipCache.isUserPartOfTheGroup(4L, 2L);
+
+        //then
+        verify(tripGroupProxy, times(2)).isUserPartOfTheGroup(anyString(), eq(1L), eq(2L));
+        verify(tripGroupProxy, times(2)).isUserPartOfTheGroup(anyString(), eq(1L), eq(3L));
+        verify(tripGroupProxy, times(1)).isUserPartOfTheGroup(anyString(), eq(4L), eq(2L));
+    }
+
+    @Test
+    void shouldExpireAnswersWhenEventIsLost() throws InterruptedException {
+        //given
+        groupMembershipCache = new GroupMembershipCache(tripGroupProxy, Duration.ofMillis(50), 100);
+        when(tripGroupProxy.isUserPartOfTheGroup(anyString(), anyLong(), anyLong())).thenReturn(true);
+        groupMembershipCache.isUserPartOfTheGroup(1L, 2L);
+
+        //when
+        Thread.sleep(100);
+        groupMembershipCache.isUserPartOfTheGroup(1L, 2L);
+
+        //then
+        verify(tripGroupProxy, times(2)).isUserPartOfTheGroup(anyString(), anyLong(), anyLong());
+    }
+}
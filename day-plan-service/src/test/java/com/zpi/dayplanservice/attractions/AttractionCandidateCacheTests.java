@@ -0,0 +1,123 @@
+package com.zpi.dayplanservice.attractions;
+
+import com.zpi.dayplanservice.attraction.AttractionCandidateCache;
+import com.zpi.dayplanservice.attraction.PlaceDetailsEnricher;
+import com.zpi.dayplanservice.dto.AttractionCandidateDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class AttractionCandidateCacheTests {
+
+    PlaceDetailsEnricher placeDetailsEnricher;
+
+    AtomicInteger searches;
+
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        placeDetailsEnricher = mock(PlaceDetailsEnricher.class);
+        when(placeDetailsEnricher.enrich(anyList())).thenAnswer(invocation -> {
+            List<AttractionCandidateDto> candidates = invocation.getArgument(0);
+            candidates.forEach(candidate -> {
+                candidate.setUrl("url-" + candidate.getPlaceId());
+                candidate.setPartial(false);
+            });
+            return candidates;
+        });
+        searches = new AtomicInteger();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    AttractionCandidateCache cache(Duration refreshAfter) {
+        return new AttractionCandidateCache(placeDetailsEnricher, meterRegistry, Runnable::run, Duration.ofHours(1), refreshAfter, 100,
+                                            Duration.ofHours(1), 100);
+    }
+
+    Supplier<List<AttractionCandidateDto>> search(String... placeIds) {
+        return () -> {
+            searches.incrementAndGet();
+            var result = new ArrayList<AttractionCandidateDto>();
+            for (var placeId : placeIds) {
+                result.add(new AttractionCandidateDto(placeId, 51.0, 17.0, placeId, null, "address"));
+            }
+            return result;
+        };
+    }
+
+    @Test
+    void shouldServeRepeatedQueryFromCache() {
+        //given
+        var cache = cache(Duration.ofHours(1));
+        cache.get("text:wroclaw", search("a", "b"));
+
+        //when
+        var result = cache.get("text:wroclaw", search("a", "b"));
+
+        //then
+        assertEquals(1, searches.get());
+        verify(placeDetailsEnricher, times(1)).enrich(anyList());
+        assertEquals(1.0, meterRegistry.counter("attraction.candidate.cache", "type", "text", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("attraction.candidate.cache", "type", "text", "result", "miss").count());
+        assertEquals(List.of("url-a", "url-b"), result.stream().map(AttractionCandidateDto::getUrl).toList());
+    }
+
+    @Test
+    void shouldNotEnrichAlreadyKnownPlaces() {
+        //given
+        var cache = cache(Duration.ofHours(1));
+        cache.get("text:wroclaw", search("a", "b"));
+
+        //when
+        var result = cache.get("text:market square", search("b", "c"));
+
+        //then
+        assertEquals(2, searches.get());
+        verify(placeDetailsEnricher).enrich(argThat(candidates -> candidates.size() == 1
+                && candidates.get(0).getPlaceId().equals("c")));
+        assertEquals(List.of("url-b", "url-c"), result.stream().map(AttractionCandidateDto::getUrl).toList());
+    }
+
+    @Test
+    void shouldServeStaleQueryAndRefreshIt() {
+        //given
+        var cache = cache(Duration.ZERO);
+        cache.get("text:wroclaw", search("a"));
+
+        //when
+        var stale = cache.get("text:wroclaw", search("a", "b"));
+        var refreshed = cache.get("text:wroclaw", search("a", "b"));
+
+        //then
+        assertEquals(1, stale.size());
+        assertEquals(2, refreshed.size());
+    }
+
+    @Test
+    void shouldNotCacheFailedSearch() {
+        //given
+        var cache = cache(Duration.ofHours(1));
+        cache.get("text:wroclaw", () -> {
+            searches.incrementAndGet();
+            return null;
+        });
+
+        //when
+        var result = cache.get("text:wroclaw", search("a"));
+
+        //then
+        assertEquals(2, searches.get());
+        assertEquals(1, result.size());
+    }
+}
@@ -0,0 +1,90 @@
+package com.zpi.dayplanservice.attractions;
+
+import com.zpi.dayplanservice.attraction.Attraction;
+import com.zpi.dayplanservice.attraction.AttractionCandidateCache;
+import com.zpi.dayplanservice.attraction.AttractionRepository;
+import com.zpi.dayplanservice.attraction.AttractionService;
+import com.zpi.dayplanservice.attraction.DistanceMatrixCache;
+import com.zpi.dayplanservice.attraction.RouteSolverEngine;
+import com.zpi.dayplanservice.day_plan.DayPlanService;
+import com.zpi.dayplanservice.mapstruct.MapStructMapper;
+import com.zpi.dayplanservice.proxies.TripGroupProxy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class AttractionRouteTests {
+
+    DistanceMatrixCache distanceMatrixCache;
+
+    AttractionService attractionService;
+
+    @BeforeEach
+    void setUp() {
+        distanceMatrixCache = mock(DistanceMatrixCache.class);
+        attractionService = new AttractionService(mock(AttractionRepository.class), mock(DayPlanService.class), null,
+                                                  mock(MapStructMapper.class), mock(TripGroupProxy.class),
+                                                  distanceMatrixCache,
+                                                  new RouteSolverEngine(Executors.newFixedThreadPool(2), 2, 12, Duration.ofSeconds(1)),
+                                                  mock(AttractionCandidateCache.class));
+    }
+
+    List<Attraction> getSampleAttractions() {
+        return List.of(
+                new Attraction(1L, 51.1071154, 17.0263899, "National Forum of Music"),
+                new Attraction(2L, 51.1412218, 16.9443929, "Wrocław Stadium"),
+                new Attraction(3L, 51.1103736, 17.0310308, "Wrocław Market Square"),
+                new Attraction(4L, 51.1101287, 17.0443431, "Panorama of the Battle of Racławice")
+        );
+    }
+
+    @Test
+    void shouldFetchDistanceMatrixOnceForAllStartingPoints() {
+        //given
+        when(distanceMatrixCache.getDistances(anyList())).thenReturn(new long[][] {
+                {0, 10, 1, 5},
+                {10, 0, 10, 2},
+                {1, 10, 0, 3},
+                {5, 2, 3, 0}
+        });
+
+        //when
+        var result = attractionService.findBestAttractionsOrder(getSampleAttractions());
+
+        //then
+        verify(distanceMatrixCache, times(1)).getDistances(anyList());
+        assertEquals(6L, result.distance());
+        assertEquals(4, result.attractions().size());
+    }
+
+    @Test
+    void shouldStartRouteFromGivenPoint() {
+        //given
+        when(distanceMatrixCache.getDistances(anyList())).thenReturn(new long[][] {
+                {0, 10, 1, 5},
+                {10, 0, 10, 2},
+                {4, 10, 0, 3},
+                {5, 2, 3, 0}
+        });
+
+        //when
+        var result = attractionService.findBestAttractionsOrder(getSampleAttractions(), 3);
+
+        //then
+        assertEquals(List.of(4L, 2L, 1L, 3L), result.attractions()
+                                                    .stream()
+                                                    .map(a -> a.getAttraction().getAttractionId())
+                                                    .toList());
+        assertEquals(13L, result.distance());
+        assertEquals(2.0, result.attractions().get(0).getDistanceToNextAttraction());
+        assertNull(result.attractions().get(3).getDistanceToNextAttraction());
+    }
+}
@@ -0,0 +1,163 @@
+package com.zpi.dayplanservice.attractions;
+
+import com.google.maps.model.LatLng;
+import com.zpi.dayplanservice.attraction.DistanceMatrixCache;
+import com.zpi.dayplanservice.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DistanceMatrixCacheTests {
+
+    GoogleApiStub googleApi;
+
+    DistanceMatrixCache distanceMatrixCache;
+
+    static final List<LatLng> POINTS = List.of(
+            new LatLng(51.1071154, 17.0263899),
+            new LatLng(51.1412218, 16.9443929),
+            new LatLng(51.1103736, 17.0310308)
+    );
+
+    @BeforeEach
+    void setUp() throws IOException {
+        googleApi = new GoogleApiStub().respond("/maps/api/distancematrix/json", DistanceMatrixCacheTests::distanceMatrixResponse);
+        distanceMatrixCache = new DistanceMatrixCache(googleApi.context(), Duration.ofHours(1), 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        googleApi.close();
+    }
+
+    @Test
+    void shouldNotCallApiForCachedDistances() {
+        //given
+        var first = distanceMatrixCache.getDistances(POINTS);
+
+        //when
+        var second = distanceMatrixCache.getDistances(POINTS);
+
+        //then
+        assertEquals(1, googleApi.requests().size());
+        assertArrayEquals(first, second);
+        assertEquals(distance(POINTS.get(0), POINTS.get(1)), second[0][1]);
+    }
+
+    @Test
+    void shouldFetchOnlyMissingPairs() {
+        //given
+        distanceMatrixCache.getDistances(POINTS.subList(0, 2));
+        var newPoint = new LatLng(51.070149, 17.057733);
+
+        //when
+        var result = distanceMatrixCache.getDistances(List.of(POINTS.get(0), POINTS.get(1), newPoint));
+
+        //then
+        assertEquals(2, googleApi.requests().size());
+        assertEquals(distance(newPoint, POINTS.get(1)), result[2][1]);
+        assertEquals(distance(POINTS.get(0), newPoint), result[0][2]);
+    }
+
+    @Test
+    void shouldSplitLargeMatrixIntoRequestsWithinApiLimits() {
+        //given
+        var points = IntStream.range(0, 30)
+                              .mapToObj(i -> new LatLng(51.0 + i * 0.01, 17.0 + i * 0.01))
+                              .toList();
+
+        //when
+        var result = distanceMatrixCache.getDistances(points);
+
+        //then
+        assertEquals(9, googleApi.requests().size());
+        for (var request : googleApi.requests()) {
+            var origins = parse(request.get("origins")).size();
+            var destinations = parse(request.get("destinations")).size();
+            assertTrue(origins <= 25 && destinations <= 25 && origins * destinations <= 100);
+        }
+        for (int i = 0; i < points.size(); i++) {
+            for (int j = 0; j < points.size(); j++) {
+                assertEquals(i == j ? 0 : distance(points.get(i), points.get(j)), result[i][j]);
+            }
+        }
+    }
+
+    @Test
+    void shouldThrowWhenDistanceMatrixRequestFails() throws IOException {
+        //given
+        try (var failingGoogleApi = new GoogleApiStub().respond("/maps/api/distancematrix/json",
+                                                                params -> "{\"status\":\"MAX_ELEMENTS_EXCEEDED\",\"rows\":[]}")) {
+            var failingDistanceMatrixCache = new DistanceMatrixCache(failingGoogleApi.context(), Duration.ofHours(1), 1000);
+
+            //when
+            //then
+            assertThrows(ServiceUnavailableException.class, () -> failingDistanceMatrixCache.getDistances(POINTS));
+        }
+    }
+
+    @Test
+    void shouldCachePairsWithoutRoute() throws IOException {
+        //given
+        try (var noRouteGoogleApi = new GoogleApiStub().respond("/maps/api/distancematrix/json",
+                                                                DistanceMatrixCacheTests::zeroResultsResponse)) {
+            var noRouteDistanceMatrixCache = new DistanceMatrixCache(noRouteGoogleApi.context(), Duration.ofHours(1), 1000);
+            noRouteDistanceMatrixCache.getDistances(POINTS);
+
+            //when
+            var result = noRouteDistanceMatrixCache.getDistances(POINTS);
+
+            //then
+            assertEquals(1, noRouteGoogleApi.requests().size());
+            assertEquals(DistanceMatrixCache.UNREACHABLE, result[0][1]);
+            assertEquals(DistanceMatrixCache.UNREACHABLE, result[2][0]);
+        }
+    }
+
+    static long distance(LatLng origin, LatLng destination) {
+        return Math.round((Math.abs(origin.lat - destination.lat) + Math.abs(origin.lng - destination.lng)) * 100_000);
+    }
+
+    static String distanceMatrixResponse(Map<String, String> params) {
+        var origins = parse(params.get("origins"));
+        var destinations = parse(params.get("destinations"));
+        var rows = origins.stream()
+                          .map(origin -> destinations.stream()
+                                                     .map(destination -> "{\"status\":\"OK\",\"distance\":{\"value\":"
+                                                             + distance(origin, destination) + ",\"text\":\"\"}}")
+                                                     .collect(Collectors.joining(",", "{\"elements\":[", "]}")))
+                          .collect(Collectors.joining(","));
+        return "{\"status\":\"OK\",\"rows\":[" + rows + "]}";
+    }
+
+    static String zeroResultsResponse(Map<String, String> params) {
+        var destinations = parse(params.get("destinations")).size();
+        var row = IntStream.range(0, destinations)
+                           .mapToObj(destination -> "{\"status\":\"ZERO_RESULTS\"}")
+                           .collect(Collectors.joining(",", "{\"elements\":[", "]}"));
+        var rows = IntStream.range(0, parse(params.get("origins")).size())
+                            .mapToObj(origin -> row)
+                            .collect(Collectors.joining(","));
+        return "{\"status\":\"OK\",\"rows\":[" + rows + "]}";
+    }
+
+    static List<LatLng> parse(String points) {
+        return Arrays.stream(points.split("\\|"))
+                     .map(point -> point.split(","))
+                     .map(latLng -> new LatLng(Double.parseDouble(latLng[0]), Double.parseDouble(latLng[1])))
+                     .toList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.zpi.dayplanservice.attractions;
+
+import com.zpi.dayplanservice.attraction.Geohash;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeohashTests {
+
+    @Test
+    void shouldEncodeCoordinates() {
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+        assertEquals("u4pru", Geohash.encode(57.64911, 10.40744, 5));
+    }
+
+    @Test
+    void shouldPutNearbyPointsIntoTheSameCell() {
+        //given
+        var first = Geohash.encode(51.1101287, 17.0310308, 6);
+
+        //when
+        var second = Geohash.encode(51.1102100, 17.0311500, 6);
+
+        //then
+        assertEquals(first, second);
+    }
+
+    @Test
+    void shouldDecodeCellCenterInsideTheCell() {
+        //given
+        var cell = Geohash.encode(51.1101287, 17.0310308, 6);
+
+        //when
+        var center = Geohash.center(cell);
+
+        //then
+        assertEquals(cell, Geohash.encode(center.lat, center.lng, 6));
+        assertEquals(51.1101287, center.lat, 0.01);
+        assertEquals(17.0310308, center.lng, 0.01);
+    }
+
+    @Test
+    void shouldRejectInvalidPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> Geohash.encode(51.0, 17.0, 0));
+    }
+}
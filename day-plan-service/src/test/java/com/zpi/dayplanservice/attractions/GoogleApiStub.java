@@ -0,0 +1,74 @@
+package com.zpi.dayplanservice.attractions;
+
+import com.google.maps.GeoApiContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Minimal local HTTP server standing in for Google Maps web services in tests.
+ */
+class GoogleApiStub implements AutoCloseable {
+
+    private final HttpServer server;
+
+    private final List<Map<String, String>> requests = new CopyOnWriteArrayList<>();
+
+    GoogleApiStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    GoogleApiStub respond(String path, Function<Map<String, String>, String> handler) {
+        server.createContext(path, exchange -> {
+            var params = parseQuery(exchange);
+            requests.add(params);
+            var body = handler.apply(params).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        return this;
+    }
+
+    GeoApiContext context() {
+        return new GeoApiContext.Builder().apiKey("AIzaTestKey")
+                                          .baseUrlOverride("http://localhost:" + server.getAddress().getPort())
+                                          .disableRetries()
+                                          .build();
+    }
+
+    List<Map<String, String>> requests() {
+        return requests;
+    }
+
+    private Map<String, String> parseQuery(HttpExchange exchange) {
+        var params = new HashMap<String, String>();
+        var query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            var keyValue = pair.split("=", 2);
+            params.put(keyValue[0], keyValue.length > 1 ? URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8) : "");
+        }
+        return params;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
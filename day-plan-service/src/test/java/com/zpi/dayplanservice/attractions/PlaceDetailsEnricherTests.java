@@ -0,0 +1,88 @@
+package com.zpi.dayplanservice.attractions;
+
+import com.zpi.dayplanservice.attraction.PlaceDetailsEnricher;
+import com.zpi.dayplanservice.dto.AttractionCandidateDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlaceDetailsEnricherTests {
+
+    static final String SLOW_PLACE = "slow-place";
+
+    GoogleApiStub googleApi;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        googleApi = new GoogleApiStub().respond("/maps/api/place/details/json", PlaceDetailsEnricherTests::placeDetailsResponse);
+    }
+
+    @AfterEach
+    void tearDown() {
+        googleApi.close();
+    }
+
+    static String placeDetailsResponse(Map<String, String> params) {
+        var placeId = params.get("placeid");
+        try {
+            Thread.sleep(SLOW_PLACE.equals(placeId) ? 3000 : 200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "{\"status\":\"OK\",\"result\":{\"url\":\"https://maps.google.com/?cid=" + placeId
+                + "\",\"formatted_address\":\"Address of " + placeId + "\"}}";
+    }
+
+    static List<AttractionCandidateDto> candidates(List<String> placeIds) {
+        return placeIds.stream()
+                       .map(placeId -> new AttractionCandidateDto(placeId, 51.0, 17.0, placeId, null, "Search address"))
+                       .toList();
+    }
+
+    @Test
+    void shouldFetchDetailsConcurrently() {
+        //given
+        var enricher = new PlaceDetailsEnricher(googleApi.context(), 10, Duration.ofSeconds(2));
+        var candidates = candidates(IntStream.range(0, 10).mapToObj(i -> "place-" + i).toList());
+
+        //when
+        var start = System.nanoTime();
+        var result = enricher.enrich(candidates);
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        //then
+        assertTrue(elapsed.compareTo(Duration.ofMillis(1500)) < 0);
+        assertEquals(10, googleApi.requests().size());
+        result.forEach(candidate -> {
+            assertFalse(candidate.getPartial());
+            assertEquals("Address of " + candidate.getPlaceId(), candidate.getAddress());
+            assertEquals("https://maps.google.com/?cid=" + candidate.getPlaceId(), candidate.getUrl());
+        });
+    }
+
+    @Test
+    void shouldMarkCandidatesAsPartialAfterDeadline() {
+        //given
+        var enricher = new PlaceDetailsEnricher(googleApi.context(), 4, Duration.ofSeconds(1));
+        var candidates = candidates(List.of("place-1", SLOW_PLACE, "place-2"));
+
+        //when
+        var result = enricher.enrich(candidates);
+
+        //then
+        assertEquals(3, result.size());
+        assertFalse(result.get(0).getPartial());
+        assertTrue(result.get(1).getPartial());
+        assertEquals("Search address", result.get(1).getAddress());
+        assertNull(result.get(1).getUrl());
+        assertFalse(result.get(2).getPartial());
+    }
+}
@@ -0,0 +1,107 @@
+package com.zpi.dayplanservice.attractions;
+
+import com.zpi.dayplanservice.attraction.HeldKarpRouteSolver;
+import com.zpi.dayplanservice.attraction.LocalSearchRouteSolver;
+import com.zpi.dayplanservice.attraction.RouteSolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RouteSolverTests {
+
+    static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    static long[][] randomDistances(int size, long seed) {
+        var random = new Random(seed);
+        var distances = new long[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                distances[i][j] = i == j ? 0 : 1 + random.nextInt(10_000);
+            }
+        }
+        return distances;
+    }
+
+    static long bruteForce(long[][] distances, int startIndex) {
+        var order = IntStream.range(0, distances.length).toArray();
+        var best = Long.MAX_VALUE;
+        do {
+            if (startIndex == RouteSolver.ANY_START || order[0] == startIndex)
+                best = Math.min(best, RouteSolver.routeLength(distances, order));
+        } while (nextPermutation(order));
+        return best;
+    }
+
+    static boolean nextPermutation(int[] order) {
+        int i = order.length - 2;
+        while (i >= 0 && order[i] >= order[i + 1]) i--;
+        if (i < 0) return false;
+        int j = order.length - 1;
+        while (order[j] <= order[i]) j--;
+        var tmp = order[i]; order[i] = order[j]; order[j] = tmp;
+        for (int l = i + 1, r = order.length - 1; l < r; l++, r--) {
+            tmp = order[l]; order[l] = order[r]; order[r] = tmp;
+        }
+        return true;
+    }
+
+    static void assertIsPermutation(int[] route, int size) {
+        assertArrayEquals(IntStream.range(0, size).toArray(), Arrays.stream(route).sorted().toArray());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 5, 8})
+    void heldKarpShouldFindOptimalRoute(int size) {
+        //given
+        var distances = randomDistances(size, size);
+
+        //when
+        var anyStart = new HeldKarpRouteSolver().solve(distances, RouteSolver.ANY_START, NO_DEADLINE);
+        var fixedStart = new HeldKarpRouteSolver().solve(distances, size - 1, NO_DEADLINE);
+
+        //then
+        assertIsPermutation(anyStart, size);
+        assertEquals(bruteForce(distances, RouteSolver.ANY_START), RouteSolver.routeLength(distances, anyStart));
+        assertEquals(size - 1, fixedStart[0]);
+        assertEquals(bruteForce(distances, size - 1), RouteSolver.routeLength(distances, fixedStart));
+    }
+
+    @Test
+    void localSearchShouldImproveNearestNeighbourRoute() {
+        //given
+        var distances = randomDistances(40, 7);
+        var solver = new LocalSearchRouteSolver();
+        var nearestNeighbour = solver.solve(distances, 3, System.nanoTime() - 1);
+
+        //when
+        var route = solver.solve(distances, 3, NO_DEADLINE);
+
+        //then
+        assertIsPermutation(route, 40);
+        assertEquals(3, route[0]);
+        assertTrue(RouteSolver.routeLength(distances, route) < RouteSolver.routeLength(distances, nearestNeighbour));
+    }
+
+    @Test
+    void localSearchShouldStopTryingStartsAtDeadline() {
+        //given
+        var distances = randomDistances(300, 3);
+        var clockReads = new AtomicLong();
+        var solver = new LocalSearchRouteSolver(clockReads::getAndIncrement);
+
+        //when
+        var route = solver.solve(distances, RouteSolver.ANY_START, 0);
+
+        //then
+        assertIsPermutation(route, 300);
+        assertArrayEquals(new LocalSearchRouteSolver().solve(distances, 0, System.nanoTime() - 1), route);
+        assertTrue(clockReads.get() <= 2);
+    }
+}
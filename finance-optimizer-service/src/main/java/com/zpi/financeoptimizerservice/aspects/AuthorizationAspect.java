@@ -4,7 +4,6 @@ package com.zpi.financeoptimizerservice.aspects;
 import com.zpi.financeoptimizerservice.exceptions.ApiPermissionException;
 import com.zpi.financeoptimizerservice.expenditure.ExpenditureRepository;
 import com.zpi.financeoptimizerservice.financial_request.FinancialRequestRepository;
-import com.zpi.financeoptimizerservice.proxies.UserGroupProxy;
 import com.zpi.financeoptimizerservice.security.CustomUsernamePasswordAuthenticationToken;
 import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -26,32 +25,39 @@ import static com.zpi.financeoptimizerservice.exceptions.ExceptionsInfo.*;
 @RequiredArgsConstructor
 public class AuthorizationAspect {
 
-    private final UserGroupProxy userGroupProxy;
+    private final GroupMembershipCache groupMembershipCache;
 
     private final ExpenditureRepository expenditureRepository;
 
     private final FinancialRequestRepository financialRequestRepository;
 
-    private static final String INNER_COMMUNICATION = "microserviceCommunication";
-
 
     @Around("@annotation(AuthorizePartOfTheGroup)")
     public Object authorizePartOfTheGroup(ProceedingJoinPoint joinPoint) throws Throwable {
         CustomUsernamePasswordAuthenticationToken authentication = (CustomUsernamePasswordAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
-        if (!userGroupProxy.isUserPartOfTheGroup(INNER_COMMUNICATION, getGroupId(joinPoint), authentication.getUserId()))
+        if (!groupMembershipCache.isUserPartOfTheGroup(getGroupId(joinPoint), authentication.getUserId()))
             throw new ApiPermissionException(INSUFFICIENT_PERMISSIONS);
 
 
         return joinPoint.proceed();
     }
 
+    @Around("@annotation(AuthorizeCoordinator)")
+    public Object authorizeCoordinator(ProceedingJoinPoint joinPoint) throws Throwable {
+        CustomUsernamePasswordAuthenticationToken authentication = (CustomUsernamePasswordAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
+        if (!groupMembershipCache.isUserCoordinator(getGroupId(joinPoint), authentication.getUserId()))
+            throw new ApiPermissionException(INSUFFICIENT_PERMISSIONS);
+
+        return joinPoint.proceed();
+    }
+
     @Around("@annotation(AuthorizeAuthorOrCoordinatorExpenditure)")
     public Object authorizeAuthorOrCoordinatorExpenditure(ProceedingJoinPoint joinPoint) throws Throwable {
         CustomUsernamePasswordAuthenticationToken authentication = (CustomUsernamePasswordAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
 
         var expenditure = expenditureRepository.findById(getExpenditureId(joinPoint)).orElseThrow(() -> new EntityNotFoundException(ENTITY_NOT_FOUND));
 
-        if (!(userGroupProxy.isUserCoordinator(INNER_COMMUNICATION, getGroupId(joinPoint), authentication.getUserId()) || Objects.equals(expenditure.getCreatorId(), authentication.getUserId()))) {
+        if (!(groupMembershipCache.isUserCoordinator(getGroupId(joinPoint), authentication.getUserId()) || Objects.equals(expenditure.getCreatorId(), authentication.getUserId()))) {
             throw new ApiPermissionException(INSUFFICIENT_PERMISSIONS);
         }
 
@@ -64,7 +70,7 @@ public class AuthorizationAspect {
 
         var financialRequest = financialRequestRepository.findById(getFinancialRequestId(joinPoint)).orElseThrow();
 
-        if (!(userGroupProxy.isUserCoordinator(INNER_COMMUNICATION, getGroupId(joinPoint), authentication.getUserId()) || financialRequest.getDebtee().equals(authentication.getUserId()))) {
+        if (!(groupMembershipCache.isUserCoordinator(getGroupId(joinPoint), authentication.getUserId()) || financialRequest.getDebtee().equals(authentication.getUserId()))) {
             throw new ApiPermissionException(INSUFFICIENT_PERMISSIONS);
         }
 
@@ -0,0 +1,148 @@
+package com.zpi.financeoptimizerservice.balance;
+
+import com.zpi.financeoptimizerservice.commons.Money;
+import com.zpi.financeoptimizerservice.commons.Status;
+import com.zpi.financeoptimizerservice.expenditure.Expenditure;
+import com.zpi.financeoptimizerservice.expenditure.ExpenditureRepository;
+import com.zpi.financeoptimizerservice.financial_request.FinancialRequest;
+import com.zpi.financeoptimizerservice.financial_request.FinancialRequestRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Persisted net balances of group members. Expenditures and accepted financial requests change only the balances
+ * of users they concern, so keeping the ledger up to date does not depend on the length of the group history.
+ */
+@Component
+public class BalanceLedger {
+
+    private final GroupBalanceRepository groupBalanceRepository;
+    private final ExpenditureRepository expenditureRepository;
+    private final FinancialRequestRepository financialRequestRepository;
+    private final GroupLockRepository groupLockRepository;
+    private final GroupWriteSerializer groupWriteSerializer;
+
+    private final TransactionTemplate transaction;
+
+    public BalanceLedger(GroupBalanceRepository groupBalanceRepository, ExpenditureRepository expenditureRepository,
+                         FinancialRequestRepository financialRequestRepository, GroupLockRepository groupLockRepository,
+                         GroupWriteSerializer groupWriteSerializer, PlatformTransactionManager transactionManager) {
+        this.groupBalanceRepository = groupBalanceRepository;
+        this.expenditureRepository = expenditureRepository;
+        this.financialRequestRepository = financialRequestRepository;
+        this.groupLockRepository = groupLockRepository;
+        this.groupWriteSerializer = groupWriteSerializer;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Reads balances as plain values without loading {@link GroupBalance} entities. Writes nothing once the ledger
+     * of the group is initialized, otherwise initializes it first under the lock of the group.
+     */
+    public Map<Long, Long> getBalances(Long groupId) {
+        var balances = groupBalanceRepository.findUserBalancesInGroup(groupId);
+        if (balances.isEmpty() && !isInitialized(groupId)) {
+            balances = transaction.execute(status -> {
+                ensureInitialized(groupWriteSerializer.acquire(groupId));
+                return groupBalanceRepository.findUserBalancesInGroup(groupId);
+            });
+        }
+
+        Map<Long, Long> result = new HashMap<>();
+        for (var balance : balances) {
+            result.put(balance.userId(), balance.balanceInCents());
+        }
+        return result;
+    }
+
+    /**
+     * Adds {@code deltasInCents} to balances of the given users, reading and writing only their rows.
+     */
+    public void apply(Long groupId, Map<Long, Long> deltasInCents) {
+        if (deltasInCents.isEmpty())
+            return;
+
+        var keys = deltasInCents.keySet().stream().map(userId -> new GroupBalanceKey(groupId, userId)).toList();
+        Map<GroupBalanceKey, GroupBalance> balances = new HashMap<>();
+        groupBalanceRepository.findAllById(keys).forEach(balance -> balances.put(balance.getId(), balance));
+
+        for (var key : keys) {
+            var balance = balances.computeIfAbsent(key, k -> new GroupBalance(k, 0));
+            balance.setBalanceInCents(balance.getBalanceInCents() + deltasInCents.get(key.getUserId()));
+        }
+        groupBalanceRepository.saveAll(balances.values());
+    }
+
+    /**
+     * Builds the ledger of a group from its whole history when the group has no balances yet, e.g. because its
+     * expenditures were added before the ledger existed. Has to be called with the lock of the group acquired by
+     * {@link GroupWriteSerializer}, before the history is modified.
+     */
+    public void ensureInitialized(GroupLock groupLock) {
+        if (groupLock.isLedgerInitialized())
+            return;
+
+        var groupId = groupLock.getGroupId();
+        if (!groupBalanceRepository.existsById_GroupId(groupId))
+            apply(groupId, balancesFromHistoryOf(groupId));
+        groupLock.setLedgerInitialized(true);
+    }
+
+    private boolean isInitialized(Long groupId) {
+        return groupLockRepository.findById(groupId).map(GroupLock::isLedgerInitialized).orElse(false);
+    }
+
+    private Map<Long, Long> balancesFromHistoryOf(Long groupId) {
+        Map<Long, Long> balances = new HashMap<>();
+        for (var expenditure : expenditureRepository.findAllByGroupId(groupId)) {
+            sharesOf(expenditure).forEach((userId, cents) -> balances.merge(userId, cents, Long::sum));
+        }
+        for (var settled : financialRequestRepository.sumNetAmountsInGroup(groupId, Status.RESOLVED.name())) {
+            balances.merge(settled.getUserId(), Money.of(settled.getNetAmount()).minorUnits(), Long::sum);
+        }
+        return balances;
+    }
+
+    public static Map<Long, Long> sharesOf(Expenditure expenditure) {
+        return sharesOf(expenditure.getCreatorId(), expenditure.getPrice(), expenditure.getExpenseDebtors());
+    }
+
+    /**
+     * Debtors owe the creator the price split into equal parts. The cents left over go one each to the debtors with
+     * the lowest ids, so the parts sum up exactly to the price and do not depend on the order of debtors.
+     */
+    public static Map<Long, Long> sharesOf(Long creatorId, Money price, List<Long> debtorsIds) {
+        Map<Long, Long> shares = new HashMap<>();
+        if (price == null || debtorsIds == null || debtorsIds.isEmpty())
+            return shares;
+
+        var sortedDebtorsIds = debtorsIds.stream().sorted().toList();
+        var parts = price.split(sortedDebtorsIds.size());
+        shares.put(creatorId, price.minorUnits());
+        for (int i = 0; i < sortedDebtorsIds.size(); i++) {
+            shares.merge(sortedDebtorsIds.get(i), -parts.get(i).minorUnits(), Long::sum);
+        }
+        return shares;
+    }
+
+    /**
+     * Balance changes caused by the debtor paying the financial request back.
+     */
+    public static Map<Long, Long> settlementOf(FinancialRequest financialRequest) {
+        Map<Long, Long> changes = new HashMap<>();
+        var cents = financialRequest.getAmount().minorUnits();
+        changes.merge(financialRequest.getDebtee(), -cents, Long::sum);
+        changes.merge(financialRequest.getDebtor(), cents, Long::sum);
+        return changes;
+    }
+
+    public static Map<Long, Long> difference(Map<Long, Long> after, Map<Long, Long> before) {
+        Map<Long, Long> result = new HashMap<>(after);
+        before.forEach((userId, cents) -> result.merge(userId, -cents, Long::sum));
+        result.values().removeIf(cents -> cents == 0);
+        return result;
+    }
+}
@@ -0,0 +1,27 @@
+package com.zpi.financeoptimizerservice.balance;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+
+/**
+ * Net balance of a user in a group in cents: positive when the user should receive money, negative when the user
+ * owes money.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupBalance {
+    @EmbeddedId
+    private GroupBalanceKey id;
+
+    @Setter
+    @Column(name = "balance_in_cents", nullable = false)
+    private long balanceInCents;
+}
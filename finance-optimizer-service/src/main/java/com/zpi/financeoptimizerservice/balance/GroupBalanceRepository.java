@@ -0,0 +1,17 @@
+package com.zpi.financeoptimizerservice.balance;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GroupBalanceRepository extends JpaRepository<GroupBalance, GroupBalanceKey> {
+
+    @Query("select new com.zpi.financeoptimizerservice.balance.UserBalance(b.id.userId, b.balanceInCents) " +
+           "from GroupBalance b where b.id.groupId = :groupId")
+    List<UserBalance> findUserBalancesInGroup(Long groupId);
+
+    boolean existsById_GroupId(Long groupId);
+}
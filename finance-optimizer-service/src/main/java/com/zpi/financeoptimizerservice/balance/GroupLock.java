@@ -0,0 +1,47 @@
+package com.zpi.financeoptimizerservice.balance;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Row locked by every transaction writing to the ledger of the group, see {@link GroupWriteSerializer}. Also keeps
+ * the state of the pending re-optimization of the group and whether its ledger is initialized, which are changed only
+ * under the lock.
+ */
+@Entity
+@Table(indexes = @Index(name = "group_lock_optimization_due_at_idx", columnList = "optimization_due_at"))
+@Getter
+@NoArgsConstructor
+public class GroupLock {
+    @Id
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Setter
+    @Column(name = "optimization_pending_since")
+    private Instant optimizationPendingSince;
+
+    @Setter
+    @Column(name = "optimization_due_at")
+    private Instant optimizationDueAt;
+
+    @Setter
+    @Column(name = "ledger_initialized", nullable = false, columnDefinition = "boolean default false")
+    private boolean ledgerInitialized;
+
+    public GroupLock(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    public boolean isOptimizationPending() {
+        return optimizationDueAt != null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.zpi.financeoptimizerservice.balance;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GroupLockRepository extends JpaRepository<GroupLock, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("from GroupLock l where l.groupId = :groupId")
+    Optional<GroupLock> lockByGroupId(Long groupId);
+
+    /**
+     * Inserts the row of the group unless it exists. A row inserted by a concurrent transaction is waited for and
+     * left untouched instead of failing the current transaction.
+     */
+    @Modifying
+    @Query(value = "insert into group_lock (group_id, ledger_initialized) values (:groupId, false) " +
+                   "on conflict do nothing", nativeQuery = true)
+    void insertIfAbsent(Long groupId);
+
+    @Query("select l.groupId from GroupLock l where l.optimizationDueAt <= :now")
+    List<Long> findGroupsDueForOptimization(Instant now);
+}
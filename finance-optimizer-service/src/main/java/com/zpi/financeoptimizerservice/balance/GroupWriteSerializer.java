@@ -0,0 +1,47 @@
+package com.zpi.financeoptimizerservice.balance;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Serializes transactions writing to the same group, on all nodes, by locking a row of the group until the
+ * transaction ends. Writes to different groups do not wait for each other.
+ */
+@Component
+@RequiredArgsConstructor
+public class GroupWriteSerializer {
+
+    private final GroupLockRepository groupLockRepository;
+
+    private final EntityManager entityManager;
+
+    /**
+     * Blocks until no other transaction writes to the group. Has to be called inside a transaction, before anything
+     * of the group is read for the write. Returns the locked row.
+     */
+    public GroupLock acquire(Long groupId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            throw new IllegalStateException("Group can be locked only inside a transaction");
+
+        var groupLock = groupLockRepository.lockByGroupId(groupId);
+        if (groupLock.isPresent())
+            return groupLock.get();
+
+        // inserted in the current transaction, a row created by a concurrent writer in the meantime is kept as it is
+        groupLockRepository.insertIfAbsent(groupId);
+        return groupLockRepository.lockByGroupId(groupId)
+                .orElseThrow(() -> new IllegalStateException("Lock of group " + groupId + " could not be created"));
+    }
+
+    /**
+     * Re-reads an entity of the group loaded before {@link #acquire} returned, e.g. by an authorization aspect, so the
+     * write starts from the state committed by the previous writer instead of the one cached in the persistence
+     * context.
+     */
+    public void reload(Object entity) {
+        entityManager.refresh(entity);
+    }
+}
@@ -0,0 +1,4 @@
+package com.zpi.financeoptimizerservice.balance;
+
+public record UserBalance(Long userId, Long balanceInCents) {
+}
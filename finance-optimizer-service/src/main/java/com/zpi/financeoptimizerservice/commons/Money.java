@@ -0,0 +1,80 @@
+package com.zpi.financeoptimizerservice.commons;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exact amount of money kept as a number of minor units (cents). All amounts of a group are in the currency of the
+ * group, so the currency itself is not stored. Serialized as a decimal number with {@value #SCALE} fraction digits.
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits);
+    }
+
+    /**
+     * @throws ArithmeticException when the amount has more than {@value #SCALE} fraction digits or does not fit
+     */
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        return new Money(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits));
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    /**
+     * Splits the amount into {@code parts} amounts differing by at most one minor unit and summing up exactly to
+     * this amount. The remainder goes to the first parts, so the same amount is always split the same way.
+     */
+    public List<Money> split(int parts) {
+        if (parts <= 0)
+            throw new IllegalArgumentException("Money can be split into a positive number of parts only");
+
+        var base = Math.floorDiv(minorUnits, parts);
+        var remainder = Math.floorMod(minorUnits, parts);
+        var result = new ArrayList<Money>(parts);
+        for (int i = 0; i < parts; i++) {
+            result.add(new Money(i < remainder ? base + 1 : base));
+        }
+        return result;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
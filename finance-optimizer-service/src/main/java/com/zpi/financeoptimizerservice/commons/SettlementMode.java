@@ -0,0 +1,6 @@
+package com.zpi.financeoptimizerservice.commons;
+
+public enum SettlementMode {
+    GREEDY,
+    MINIMAL_TRANSACTIONS
+}
@@ -0,0 +1,11 @@
+package com.zpi.financeoptimizerservice.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(value = "app.optimization.scheduling-enabled", matchIfMissing = true)
+public class SchedulingConfig {
+}
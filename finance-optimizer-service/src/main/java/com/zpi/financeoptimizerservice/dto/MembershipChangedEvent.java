@@ -0,0 +1,8 @@
+package com.zpi.financeoptimizerservice.dto;
+
+/**
+ * Sent by trip-group-service whenever membership or role of a user in a group changes. {@code userId} is null when
+ * the whole group was removed.
+ */
+public record MembershipChangedEvent(Long groupId, Long userId) {
+}
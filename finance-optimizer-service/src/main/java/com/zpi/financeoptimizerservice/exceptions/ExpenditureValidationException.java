@@ -28,11 +28,31 @@ public class ExpenditureValidationException extends ApiRestException {
         return new ExpenditureValidationException(msg);
     }
 
+    public static ExpenditureValidationException priceFractionDigits() {
+        var msg = "Price can have at most 2 fraction digits";
+        return new ExpenditureValidationException(msg);
+    }
+
     public static ExpenditureValidationException pricePerDebtorOutOfBounds() {
         var msg = "Price per debtor has to be greater or equal to 0.01";
         return new ExpenditureValidationException(msg);
     }
 
+    public static ExpenditureValidationException noExpenditures() {
+        var msg = "Import must contain atleast one expenditure";
+        return new ExpenditureValidationException(msg);
+    }
+
+    public static ExpenditureValidationException tooManyExpenditures(int maxExpenditures) {
+        var msg = "Import can contain at most %d expenditures".formatted(maxExpenditures);
+        return new ExpenditureValidationException(msg);
+    }
+
+    public static ExpenditureValidationException inRow(int row, ExpenditureValidationException cause) {
+        var msg = "Row %d: %s".formatted(row, cause.getMessage());
+        return new ExpenditureValidationException(msg);
+    }
+
     public static ExpenditureValidationException debtorNotInGroup(String userName) {
         var msg = "User %s is not a member of the group".formatted(userName);
         return new ExpenditureValidationException(msg);
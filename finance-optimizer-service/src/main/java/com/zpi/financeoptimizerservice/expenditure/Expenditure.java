@@ -1,11 +1,11 @@
 package com.zpi.financeoptimizerservice.expenditure;
 
+import com.zpi.financeoptimizerservice.commons.Money;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import javax.persistence.*;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,7 +21,7 @@ public class Expenditure {
     )
     @SequenceGenerator(
             name = "finance_sequence",
-            sequenceName = "finance_sequence", allocationSize = 1)
+            sequenceName = "finance_sequence", allocationSize = 50)
     @Column(name = "expenditure_id",unique = true, nullable = false)
     private Long expenditureId;
 
@@ -34,7 +34,7 @@ public class Expenditure {
 
     @Setter
     @Column(name = "price", nullable = false)
-    private BigDecimal price;
+    private Money price;
 
     @Column(name = "group_id", nullable = false)
     private Long groupId;
@@ -48,7 +48,7 @@ public class Expenditure {
     @Column(name = "expense_debtors")
     private List<Long> expenseDebtors = new ArrayList<>();
 
-    public Expenditure(String title, BigDecimal price, Long groupId, Long creatorId, List<Long> expenseDebtors) {
+    public Expenditure(String title, Money price, Long groupId, Long creatorId, List<Long> expenseDebtors) {
         this.title = title;
         this.price = price;
         this.groupId = groupId;
@@ -1,12 +1,13 @@
 package com.zpi.financeoptimizerservice.expenditure;
 
+import com.zpi.financeoptimizerservice.commons.Money;
 import com.zpi.financeoptimizerservice.dto.ExpenditureInputDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -29,6 +30,12 @@ public class ExpenditureController {
         return new ResponseEntity<>(result, HttpStatus.CREATED);
     }
 
+    @PostMapping("/import")
+    public ResponseEntity<List<Expenditure>> addExpenditures(@RequestParam Long groupId, @RequestBody List<ExpenditureInputDto> expenditureInputs) {
+        var result = expenditureService.addExpenditures(groupId, expenditureInputs);
+        return new ResponseEntity<>(result, HttpStatus.CREATED);
+    }
+
     @PatchMapping()
     public ResponseEntity<Expenditure> editExpenditure(@RequestParam Long groupId, @RequestParam Long expenditureId, @RequestBody ExpenditureInputDto expenditureInput){
         var result = expenditureService.editExpenditure(groupId, expenditureId, expenditureInput);
@@ -42,7 +49,7 @@ public class ExpenditureController {
     }
 
     @GetMapping("/balance")
-    public ResponseEntity<Map<Long, BigDecimal>> getGroupBalance(@RequestParam Long groupId){
+    public ResponseEntity<Map<Long, Money>> getGroupBalance(@RequestParam Long groupId){
         var result = expenditureService.getGroupBalance(groupId);
         return ResponseEntity.ok(result);
     }
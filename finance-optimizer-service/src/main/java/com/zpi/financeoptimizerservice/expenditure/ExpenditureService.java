@@ -2,17 +2,17 @@ package com.zpi.financeoptimizerservice.expenditure;
 
 import com.zpi.financeoptimizerservice.aspects.AuthorizeAuthorOrCoordinatorExpenditure;
 import com.zpi.financeoptimizerservice.aspects.AuthorizePartOfTheGroup;
+import com.zpi.financeoptimizerservice.balance.BalanceLedger;
+import com.zpi.financeoptimizerservice.balance.GroupWriteSerializer;
+import com.zpi.financeoptimizerservice.commons.Money;
 import com.zpi.financeoptimizerservice.dto.ExpenditureInputDto;
-import com.zpi.financeoptimizerservice.financial_request.FinancialRequestOptimizer;
-import com.zpi.financeoptimizerservice.financial_request.FinancialRequestService;
+import com.zpi.financeoptimizerservice.financial_request.OptimizationScheduler;
 import com.zpi.financeoptimizerservice.validation.ExpenditureValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import javax.persistence.EntityNotFoundException;
 import javax.transaction.Transactional;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.*;
 
 import static com.zpi.financeoptimizerservice.exceptions.ExceptionsInfo.*;
@@ -23,8 +23,9 @@ public class ExpenditureService {
 
     private final ExpenditureRepository expenditureRepository;
     private final ExpenditureValidator expenditureValidator;
-    private final FinancialRequestService financialRequestService;
-    private final FinancialRequestOptimizer financialRequestOptimizer;
+    private final OptimizationScheduler optimizationScheduler;
+    private final BalanceLedger balanceLedger;
+    private final GroupWriteSerializer groupWriteSerializer;
 
 
     @AuthorizePartOfTheGroup
@@ -36,44 +37,68 @@ public class ExpenditureService {
     @AuthorizePartOfTheGroup
     public Expenditure addExpenditure(Long groupId, ExpenditureInputDto expenditureInput) {
         var expenditure = mapInputToExpenditure(expenditureInput, groupId);
+        var groupLock = groupWriteSerializer.acquire(groupId);
+        balanceLedger.ensureInitialized(groupLock);
         var addedExpenditure = expenditureRepository.save(expenditure);
-        createFinancialRequestsFrom(expenditureInput, groupId);
-        financialRequestOptimizer.optimizeFinancialRequestsIn(groupId);
+        balanceLedger.apply(groupId, BalanceLedger.sharesOf(addedExpenditure));
+        optimizationScheduler.requestOptimization(groupLock);
         return addedExpenditure;
     }
 
+    /**
+     * Adds all expenditures in one transaction: they are inserted in JDBC batches, the ledger is updated once with
+     * their summed shares and the group is re-optimized once.
+     */
+    @Transactional
+    @AuthorizePartOfTheGroup
+    public List<Expenditure> addExpenditures(Long groupId, List<ExpenditureInputDto> expenditureInputs) {
+        expenditureValidator.validateExpenditureInputs(expenditureInputs);
+        var expenditures = expenditureInputs.stream()
+                .map(expenditureInput -> toExpenditure(expenditureInput, groupId))
+                .toList();
+
+        var groupLock = groupWriteSerializer.acquire(groupId);
+        balanceLedger.ensureInitialized(groupLock);
+        var addedExpenditures = expenditureRepository.saveAll(expenditures);
+        Map<Long, Long> shares = new HashMap<>();
+        for (var expenditure : addedExpenditures) {
+            BalanceLedger.sharesOf(expenditure).forEach((userId, cents) -> shares.merge(userId, cents, Long::sum));
+        }
+        balanceLedger.apply(groupId, shares);
+        optimizationScheduler.requestOptimization(groupLock);
+        return addedExpenditures;
+    }
+
     private Expenditure mapInputToExpenditure(ExpenditureInputDto expenditureInputDto, Long groupId) {
         expenditureValidator.validateExpenditureInput(expenditureInputDto);
+        return toExpenditure(expenditureInputDto, groupId);
+    }
 
+    private Expenditure toExpenditure(ExpenditureInputDto expenditureInputDto, Long groupId) {
         return new Expenditure(expenditureInputDto.title(),
-                Optional.ofNullable(expenditureInputDto.price()).map(BigDecimal::valueOf).orElse(null),
+                Optional.ofNullable(expenditureInputDto.price()).map(Money::of).orElse(null),
                 groupId,
                 expenditureInputDto.creatorId(),
                 expenditureInputDto.debtorsIds());
     }
-    private void createFinancialRequestsFrom(ExpenditureInputDto expenditureInput, Long groupId) {
-        Long debtee = expenditureInput.creatorId();
-        Map<Long, Double> debts = new HashMap<>();
-
-        for (var debtorId : expenditureInput.debtorsIds()) {
-            var pricePerDebtor = BigDecimal.valueOf(expenditureInput.pricePerDebtor())
-                    .setScale(2, RoundingMode.CEILING)
-                    .doubleValue();
-            debts.put(debtorId, pricePerDebtor);
-        }
-
-        financialRequestService.addFinancialRequests(debtee, debts, groupId);
-    }
 
     @Transactional
     @AuthorizePartOfTheGroup
     @AuthorizeAuthorOrCoordinatorExpenditure
     public Expenditure editExpenditure(Long groupId, Long expenditureId, ExpenditureInputDto expenditureInput) {
+        var groupLock = groupWriteSerializer.acquire(groupId);
         var expenditure = expenditureRepository.findById(expenditureId).orElseThrow(() -> new EntityNotFoundException(ENTITY_NOT_FOUND));
+        groupWriteSerializer.reload(expenditure);
+        if (!expenditure.getGroupId().equals(groupId))
+            throw new IllegalArgumentException(INVALID_PARAMS);
+        expenditureValidator.validateExpenditureEdit(expenditure, expenditureInput);
+        balanceLedger.ensureInitialized(groupLock);
+        var sharesBefore = BalanceLedger.sharesOf(expenditure);
         var shouldTriggerRequests = updateExpenditure(expenditure, expenditureInput);
         var updatedExpenditure = expenditureRepository.save(expenditure);
         if(shouldTriggerRequests) {
-            regenerateOptimizationProcess(groupId);
+            balanceLedger.apply(groupId, BalanceLedger.difference(BalanceLedger.sharesOf(updatedExpenditure), sharesBefore));
+            optimizationScheduler.requestOptimization(groupLock);
         }
         return updatedExpenditure;
     }
@@ -85,7 +110,7 @@ public class ExpenditureService {
             shouldTriggerCreatingFinanceRequests = true;
         }
         if(Objects.nonNull(expenditureInput.price())){
-            expenditure.setPrice((BigDecimal.valueOf(expenditureInput.price())));
+            expenditure.setPrice(Money.of(expenditureInput.price()));
             shouldTriggerCreatingFinanceRequests = true;
         }
         if(Objects.nonNull(expenditureInput.title())){
@@ -102,24 +127,21 @@ public class ExpenditureService {
     @AuthorizePartOfTheGroup
     @AuthorizeAuthorOrCoordinatorExpenditure
     public void deleteExpenditure(Long expenditureId, Long groupId) {
+        var groupLock = groupWriteSerializer.acquire(groupId);
         var expenditure = expenditureRepository.findById(expenditureId).orElseThrow(() -> new EntityNotFoundException(ENTITY_NOT_FOUND));
+        groupWriteSerializer.reload(expenditure);
+        if (!expenditure.getGroupId().equals(groupId))
+            throw new IllegalArgumentException(INVALID_PARAMS);
+        balanceLedger.ensureInitialized(groupLock);
         expenditureRepository.delete(expenditure);
-        regenerateOptimizationProcess(groupId);
-    }
-
-    private void regenerateOptimizationProcess(Long groupId) {
-        financialRequestService.deleteAllFinancialRequests(groupId);
-        var allExpenditures = expenditureRepository.findAllByGroupId(groupId);
-        for (var ex : allExpenditures){
-            createFinancialRequestsFrom(new ExpenditureInputDto(ex.getCreatorId(), ex.getTitle(), ex.getPrice().doubleValue(), ex.getExpenseDebtors()), groupId);
-        }
-        financialRequestOptimizer.optimizeFinancialRequestsIn(groupId);
+        balanceLedger.apply(groupId, BalanceLedger.difference(Map.of(), BalanceLedger.sharesOf(expenditure)));
+        optimizationScheduler.requestOptimization(groupLock);
     }
 
     @AuthorizePartOfTheGroup
-    public Map<Long, BigDecimal> getGroupBalance(Long groupId) {
-        var financialRequests = financialRequestService.getAllActiveFinancialRequestsIn(groupId);
-        var balanceDouble = financialRequestOptimizer.calculateNetCashFlowIn(financialRequests);
-        return financialRequestOptimizer.convertPricesToBigDecimal(balanceDouble);
+    public Map<Long, Money> getGroupBalance(Long groupId) {
+        Map<Long, Money> result = new HashMap<>();
+        balanceLedger.getBalances(groupId).forEach((userId, cents) -> result.put(userId, Money.ofMinor(cents)));
+        return result;
     }
 }
@@ -0,0 +1,55 @@
+package com.zpi.financeoptimizerservice.financial_request;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Settles net balances given in cents by repeatedly matching the biggest receiver with the biggest giver. The
+ * partially settled side goes back to its queue, so every step costs O(log n) instead of a scan of all balances.
+ * Ties are broken by the lower user id. Users with zero balance take no part in settlement.
+ */
+final class DebtSettlement {
+
+    private DebtSettlement() {
+    }
+
+    static List<Settlement> settle(Map<Long, Long> balancesInCents) {
+        var receivers = new PriorityQueue<Balance>(Comparator.comparingLong(Balance::cents).reversed()
+                                                             .thenComparingLong(Balance::userId));
+        var givers = new PriorityQueue<Balance>(Comparator.comparingLong(Balance::cents)
+                                                          .thenComparingLong(Balance::userId));
+        for (var entry : balancesInCents.entrySet()) {
+            if (entry.getValue() > 0)
+                receivers.add(new Balance(entry.getKey(), entry.getValue()));
+            else if (entry.getValue() < 0)
+                givers.add(new Balance(entry.getKey(), entry.getValue()));
+        }
+
+        var settlements = new ArrayList<Settlement>(receivers.size() + givers.size());
+        while (!receivers.isEmpty() && !givers.isEmpty()) {
+            var receiver = receivers.poll();
+            var giver = givers.poll();
+            var difference = receiver.cents() + giver.cents();
+
+            if (difference > 0) {
+                receivers.add(new Balance(receiver.userId(), difference));
+                settlements.add(new Settlement(receiver.userId(), giver.userId(), -giver.cents()));
+            } else if (difference < 0) {
+                givers.add(new Balance(giver.userId(), difference));
+                settlements.add(new Settlement(receiver.userId(), giver.userId(), receiver.cents()));
+            } else {
+                settlements.add(new Settlement(receiver.userId(), giver.userId(), receiver.cents()));
+            }
+        }
+        return settlements;
+    }
+
+    record Settlement(long debteeId, long debtorId, long amountInCents) {
+    }
+
+    private record Balance(long userId, long cents) {
+    }
+}
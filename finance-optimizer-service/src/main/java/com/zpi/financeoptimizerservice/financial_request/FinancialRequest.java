@@ -1,16 +1,17 @@
 package com.zpi.financeoptimizerservice.financial_request;
 
+import com.zpi.financeoptimizerservice.commons.Money;
 import com.zpi.financeoptimizerservice.commons.Status;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import javax.persistence.*;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
+@Table(indexes = @Index(name = "financial_request_group_status_idx", columnList = "group_id, status"))
 @Getter
 @NoArgsConstructor
 public class FinancialRequest {
@@ -21,7 +22,7 @@ public class FinancialRequest {
     )
     @SequenceGenerator(
             name = "request_sequence",
-            sequenceName = "request_sequence", allocationSize = 1)
+            sequenceName = "request_sequence", allocationSize = 50)
     @Column(name = "financial_request_id",unique = true, nullable = false)
     private Long financialRequestId;
 
@@ -35,7 +36,7 @@ public class FinancialRequest {
     private Status status;
 
     @Column(name = "amount", nullable = false)
-    private BigDecimal amount;
+    private Money amount;
 
     @Column(name = "debtor", nullable = false)
     private Long debtor;
@@ -46,7 +47,7 @@ public class FinancialRequest {
     @Column(name = "group_id", nullable = false)
     private Long groupId;
 
-    public FinancialRequest(BigDecimal amount, Long debtor, Long debtee, Long groupId, Status status) {
+    public FinancialRequest(Money amount, Long debtor, Long debtee, Long groupId, Status status) {
         this.amount = amount;
         this.debtor = debtor;
         this.debtee = debtee;
@@ -54,7 +55,7 @@ public class FinancialRequest {
         this.status = status;
     }
 
-    public static FinancialRequest create(BigDecimal price,
+    public static FinancialRequest create(Money price,
                                           Long debtee,
                                           Long debtor, Long groupId) {
         return new FinancialRequest(price, debtor, debtee, groupId, Status.PENDING);
@@ -1,5 +1,7 @@
 package com.zpi.financeoptimizerservice.financial_request;
 
+import com.zpi.financeoptimizerservice.commons.Money;
+import com.zpi.financeoptimizerservice.commons.SettlementMode;
 import com.zpi.financeoptimizerservice.commons.Status;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -18,10 +20,12 @@ public class FinancialRequestController {
 
     private final FinancialRequestService financialRequestService;
 
+    private final SettlementSettingsService settlementSettingsService;
+
     @GetMapping("/addfin")
     public String addExpenditure() {
-        FinancialRequest financialRequest = new FinancialRequest(BigDecimal.TEN, 2L, 1L, 1L, Status.PENDING);
-        FinancialRequest financialRequest2 = new FinancialRequest(BigDecimal.ZERO, 3L, 1L, 1L, Status.PENDING);
+        FinancialRequest financialRequest = new FinancialRequest(Money.of(BigDecimal.TEN), 2L, 1L, 1L, Status.PENDING);
+        FinancialRequest financialRequest2 = new FinancialRequest(Money.ZERO, 3L, 1L, 1L, Status.PENDING);
 
         financialRequestRepository.saveAll(List.of(financialRequest, financialRequest2));
         return "Added financial request";
@@ -33,12 +37,24 @@ public class FinancialRequestController {
         return ResponseEntity.ok().build();
     }
 
+    @PutMapping("/settlement-mode")
+    public ResponseEntity<?> setSettlementMode(@RequestParam Long groupId, @RequestParam SettlementMode mode) {
+        settlementSettingsService.setSettlementMode(groupId, mode);
+        return ResponseEntity.ok().build();
+    }
+
     @GetMapping("/unsettled")
     public ResponseEntity<Set<FinancialRequest>> getAllUnsettledFinanceRequests(@RequestParam Long groupId){
         var result = financialRequestService.getAllUnsettledFinanceRequests(groupId);
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/optimization-pending")
+    public ResponseEntity<Boolean> isOptimizationPending(@RequestParam Long groupId){
+        var result = financialRequestService.isOptimizationPending(groupId);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping()
     public ResponseEntity<Set<FinancialRequest>> getAllFinancialRequestInGroup(@RequestParam Long groupId, @RequestParam Long userId){
         var result = financialRequestService.getAllFinancialRequestInGroup(groupId, userId);
@@ -5,6 +5,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Set;
 
 @Repository
@@ -18,6 +20,22 @@ public interface FinancialRequestRepository extends JpaRepository<FinancialReque
     @Query("from FinancialRequest f where (f.debtor = :debtorId  or f.debtee = :debtorId) and f.groupId = :groupId and f.status = 'PENDING'")
     Set<FinancialRequest> getAllByDebtorAndExpenditure(@Param("debtorId") Long debtorId, @Param("groupId") Long groupId);
 
-    void deleteAllByGroupId(Long groupId);
+    /**
+     * Net amount per user of the requests with the given status: the debtor gets the amount back, the debtee
+     * gives it away.
+     */
+    @Query(value = "select r.user_id as userId, sum(r.amount) as netAmount from (" +
+                   "select case when side.debtor_side then fr.debtor else fr.debtee end as user_id, " +
+                   "case when side.debtor_side then fr.amount else -fr.amount end as amount " +
+                   "from financial_request fr cross join (select true as debtor_side union all select false) side " +
+                   "where fr.group_id = :groupId and fr.status = :status) r " +
+                   "group by r.user_id", nativeQuery = true)
+    List<UserNetAmount> sumNetAmountsInGroup(@Param("groupId") Long groupId, @Param("status") String status);
+
+    interface UserNetAmount {
+        Long getUserId();
+
+        BigDecimal getNetAmount();
+    }
 
 }
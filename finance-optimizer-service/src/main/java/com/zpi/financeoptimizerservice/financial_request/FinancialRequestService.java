@@ -2,15 +2,18 @@ package com.zpi.financeoptimizerservice.financial_request;
 
 import com.zpi.financeoptimizerservice.aspects.AuthorizeAuthorOrCoordinatorRequest;
 import com.zpi.financeoptimizerservice.aspects.AuthorizePartOfTheGroup;
+import com.zpi.financeoptimizerservice.balance.BalanceLedger;
+import com.zpi.financeoptimizerservice.balance.GroupLock;
+import com.zpi.financeoptimizerservice.balance.GroupLockRepository;
+import com.zpi.financeoptimizerservice.balance.GroupWriteSerializer;
 import com.zpi.financeoptimizerservice.commons.Status;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import javax.persistence.EntityNotFoundException;
 import javax.transaction.Transactional;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
 
 import static com.zpi.financeoptimizerservice.exceptions.ExceptionsInfo.ENTITY_NOT_FOUND;
@@ -23,19 +26,14 @@ public class FinancialRequestService {
 
     private final FinancialRequestRepository financialRequestRepository;
 
-    @Transactional
-    public void addFinancialRequests(Long debteeId, Map<Long, Double> debts, Long groupId) {
+    private final BalanceLedger balanceLedger;
 
-        var financialRequestsToAdd = debts.entrySet().stream()
-                .map(entry -> FinancialRequest.create(BigDecimal.valueOf(entry.getValue()), debteeId, entry.getKey(), groupId))
-                .toList();
+    private final GroupWriteSerializer groupWriteSerializer;
 
-        financialRequestRepository.saveAll(financialRequestsToAdd);
-    }
+    private final GroupLockRepository groupLockRepository;
 
-    public void addFinancialRequest(Long debteeId, Long debtorId, Double price, Long groupId) {
-        var financialRequestToAdd = FinancialRequest.create(BigDecimal.valueOf(price), debteeId, debtorId, groupId);
-        financialRequestRepository.save(financialRequestToAdd);
+    public void addAllFinancialRequests(List<FinancialRequest> financialRequests) {
+        financialRequestRepository.saveAll(financialRequests);
     }
 
     public Set<FinancialRequest> getAllActiveFinancialRequestsIn(Long groupId) {
@@ -51,14 +49,18 @@ public class FinancialRequestService {
     @AuthorizePartOfTheGroup
     @AuthorizeAuthorOrCoordinatorRequest
     public void acceptFinancialRequest(Long requestId, Long groupId) {
+        var groupLock = groupWriteSerializer.acquire(groupId);
         var financialRequest = financialRequestRepository.findById(requestId).orElseThrow(() -> new EntityNotFoundException(ENTITY_NOT_FOUND));
+        groupWriteSerializer.reload(financialRequest);
+        if (!financialRequest.getGroupId().equals(groupId))
+            throw new IllegalArgumentException(INVALID_PARAMS);
+        if (financialRequest.getStatus() == Status.RESOLVED)
+            return;
+        balanceLedger.ensureInitialized(groupLock);
         financialRequest.setStatus(Status.RESOLVED);
         financialRequest.setGenerationDate(LocalDateTime.now());
         financialRequestRepository.save(financialRequest);
-    }
-
-    public void deleteAllFinancialRequests(Long groupId) {
-        financialRequestRepository.deleteAllByGroupId(groupId);
+        balanceLedger.apply(financialRequest.getGroupId(), BalanceLedger.settlementOf(financialRequest));
     }
 
     @AuthorizePartOfTheGroup
@@ -66,15 +68,28 @@ public class FinancialRequestService {
         return getAllActiveFinancialRequestsIn(groupId);
     }
 
+    /**
+     * Answered from the ledger instead of pending requests, which are regenerated only after the quiet period of the
+     * group. While that re-optimization is pending, every member is treated as involved.
+     */
     public Boolean isDebtorOrDebteeToAnyFinancialRequests(Long groupId, Long userId) {
         if(groupId == null || userId == null)
             throw new IllegalArgumentException(INVALID_PARAMS);
-        var financialRequestSet =  financialRequestRepository.getAllByDebtorAndExpenditure(userId, groupId);
-        return !financialRequestSet.isEmpty();
+        if (balanceLedger.getBalances(groupId).getOrDefault(userId, 0L) != 0)
+            return true;
+        return groupLockRepository.findById(groupId).map(GroupLock::isOptimizationPending).orElse(false);
     }
 
     @AuthorizePartOfTheGroup
     public Set<FinancialRequest> getAllFinancialRequestInGroup(Long groupId, Long userId) {
         return financialRequestRepository.getAllFinancialRequestInGroup(groupId);
     }
+
+    /**
+     * Whether financial requests of the group are about to be regenerated after recent expenditure changes.
+     */
+    @AuthorizePartOfTheGroup
+    public Boolean isOptimizationPending(Long groupId) {
+        return groupLockRepository.findById(groupId).map(GroupLock::isOptimizationPending).orElse(false);
+    }
 }
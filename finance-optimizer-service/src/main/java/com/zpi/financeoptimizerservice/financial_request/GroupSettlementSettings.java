@@ -0,0 +1,22 @@
+package com.zpi.financeoptimizerservice.financial_request;
+
+import com.zpi.financeoptimizerservice.commons.SettlementMode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupSettlementSettings {
+    @Id
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Column(name = "settlement_mode", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private SettlementMode settlementMode;
+}
@@ -0,0 +1,13 @@
+package com.zpi.financeoptimizerservice.financial_request;
+
+import com.zpi.financeoptimizerservice.commons.SettlementMode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GroupSettlementSettingsRepository extends JpaRepository<GroupSettlementSettings, Long> {
+
+    default SettlementMode settlementModeOf(Long groupId) {
+        return findById(groupId).map(GroupSettlementSettings::getSettlementMode).orElse(SettlementMode.GREEDY);
+    }
+}
@@ -0,0 +1,122 @@
+package com.zpi.financeoptimizerservice.financial_request;
+
+import com.zpi.financeoptimizerservice.financial_request.DebtSettlement.Settlement;
+
+import java.util.*;
+
+/**
+ * Settles balances with the fewest transfers. A group of k users whose balances sum up to zero needs k - 1
+ * transfers, so the balances are first split into as many zero-sum clusters as possible and every cluster is then
+ * settled by {@link DebtSettlement}. The split is exact (bitmask dynamic programming) for up to
+ * {@value #MAX_EXACT_SIZE} users left after pairing opposite balances, bigger groups are settled greedily. When the
+ * deadline passes, the whole group falls back to {@link DebtSettlement}.
+ */
+final class MinimalTransactionsSettlement {
+
+    static final int MAX_EXACT_SIZE = 20;
+
+    private static final int DEADLINE_CHECK_INTERVAL = 1 << 12;
+
+    private MinimalTransactionsSettlement() {
+    }
+
+    /**
+     * @param deadline {@link System#nanoTime()} value after which the search gives up
+     */
+    static List<Settlement> settle(Map<Long, Long> balancesInCents, long deadline) {
+        var users = new ArrayList<Long>();
+        for (var entry : balancesInCents.entrySet()) {
+            if (entry.getValue() != 0)
+                users.add(entry.getKey());
+        }
+        users.sort(Comparator.naturalOrder());
+
+        var clusters = new ArrayList<List<Long>>();
+        var rest = pairOpposites(users, balancesInCents, clusters);
+        if (rest.size() > MAX_EXACT_SIZE) {
+            clusters.add(rest);
+        } else {
+            var exactClusters = zeroSumClusters(rest, balancesInCents, deadline);
+            if (exactClusters == null)
+                return DebtSettlement.settle(balancesInCents);
+            clusters.addAll(exactClusters);
+        }
+
+        var settlements = new ArrayList<Settlement>();
+        for (var cluster : clusters) {
+            Map<Long, Long> clusterBalances = new HashMap<>();
+            cluster.forEach(user -> clusterBalances.put(user, balancesInCents.get(user)));
+            settlements.addAll(DebtSettlement.settle(clusterBalances));
+        }
+        return settlements;
+    }
+
+    /**
+     * Two users with opposite balances always form a cluster of their own in some optimal split, so they are taken
+     * out before the exponential search. Returns the users left unpaired.
+     */
+    private static List<Long> pairOpposites(List<Long> users, Map<Long, Long> balances, List<List<Long>> clusters) {
+        Map<Long, Deque<Long>> unpaired = new HashMap<>();
+        var rest = new LinkedHashSet<Long>();
+        for (var user : users) {
+            var balance = balances.get(user);
+            var opposites = unpaired.get(-balance);
+            if (opposites != null && !opposites.isEmpty()) {
+                var opposite = opposites.poll();
+                rest.remove(opposite);
+                clusters.add(List.of(opposite, user));
+            } else {
+                unpaired.computeIfAbsent(balance, b -> new ArrayDeque<>()).add(user);
+                rest.add(user);
+            }
+        }
+        return new ArrayList<>(rest);
+    }
+
+    /**
+     * {@code clusters[mask]} is the highest number of zero-sum clusters the users in {@code mask} can be split into,
+     * counting {@code mask} itself when its sum is zero. Returns null when the deadline passes.
+     */
+    private static List<List<Long>> zeroSumClusters(List<Long> users, Map<Long, Long> balances, long deadline) {
+        var size = users.size();
+        if (size == 0)
+            return List.of();
+
+        var full = (1 << size) - 1;
+        var sums = new long[full + 1];
+        var clusters = new byte[full + 1];
+        var removed = new byte[full + 1];
+
+        for (int mask = 1; mask <= full; mask++) {
+            if ((mask & (DEADLINE_CHECK_INTERVAL - 1)) == 0 && System.nanoTime() > deadline)
+                return null;
+
+            var lowest = Integer.numberOfTrailingZeros(mask);
+            sums[mask] = sums[mask & (mask - 1)] + balances.get(users.get(lowest));
+
+            var best = -1;
+            for (var rest = mask; rest != 0; rest &= rest - 1) {
+                var user = Integer.numberOfTrailingZeros(rest);
+                var candidate = clusters[mask & ~(1 << user)];
+                if (candidate > best) {
+                    best = candidate;
+                    removed[mask] = (byte) user;
+                }
+            }
+            clusters[mask] = (byte) (best + (sums[mask] == 0 ? 1 : 0));
+        }
+
+        var result = new ArrayList<List<Long>>();
+        var current = new ArrayList<Long>();
+        for (var mask = full; mask != 0; ) {
+            var user = removed[mask];
+            current.add(users.get(user));
+            mask &= ~(1 << user);
+            if (sums[mask] == 0) {
+                result.add(current);
+                current = new ArrayList<>();
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,93 @@
+package com.zpi.financeoptimizerservice.financial_request;
+
+import com.zpi.financeoptimizerservice.balance.GroupLock;
+import com.zpi.financeoptimizerservice.balance.GroupLockRepository;
+import com.zpi.financeoptimizerservice.balance.GroupWriteSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Re-optimizes financial requests of a group once writes to the group stop for the quiet period, so a burst of
+ * expenditures costs a single optimization and writes do not wait for the optimizer. Continuous writes postpone the
+ * optimization by at most the max delay. The due time is kept in the database, so any node can run it.
+ */
+@Slf4j
+@Component
+public class OptimizationScheduler {
+
+    private final GroupWriteSerializer groupWriteSerializer;
+
+    private final GroupLockRepository groupLockRepository;
+
+    private final FinancialRequestOptimizer financialRequestOptimizer;
+
+    private final TransactionTemplate transaction;
+
+    private final Duration quietPeriod;
+
+    private final Duration maxDelay;
+
+    public OptimizationScheduler(GroupWriteSerializer groupWriteSerializer,
+                                 GroupLockRepository groupLockRepository,
+                                 FinancialRequestOptimizer financialRequestOptimizer,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.optimization.quiet-period:2s}") Duration quietPeriod,
+                                 @Value("${app.optimization.max-delay:30s}") Duration maxDelay) {
+        this.groupWriteSerializer = groupWriteSerializer;
+        this.groupLockRepository = groupLockRepository;
+        this.financialRequestOptimizer = financialRequestOptimizer;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.quietPeriod = quietPeriod;
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Marks the group locked by the current transaction as waiting for optimization, postponing an already pending
+     * one.
+     */
+    public void requestOptimization(GroupLock groupLock) {
+        var now = Instant.now();
+        if (groupLock.getOptimizationPendingSince() == null)
+            groupLock.setOptimizationPendingSince(now);
+
+        var dueAt = now.plus(quietPeriod);
+        var latest = groupLock.getOptimizationPendingSince().plus(maxDelay);
+        groupLock.setOptimizationDueAt(dueAt.isAfter(latest) ? latest : dueAt);
+    }
+
+    @Scheduled(fixedDelayString = "${app.optimization.poll-interval-millis:500}")
+    public void optimizeDueGroups() {
+        optimizeDueGroups(Instant.now());
+    }
+
+    /**
+     * Optimizes every group due at {@code now}, each in its own transaction. A failed group stays due and is
+     * retried on the next run.
+     */
+    void optimizeDueGroups(Instant now) {
+        for (var groupId : groupLockRepository.findGroupsDueForOptimization(now)) {
+            try {
+                transaction.executeWithoutResult(status -> optimizeIfDue(groupId, now));
+            } catch (RuntimeException e) {
+                log.warn("Optimizing financial requests of group " + groupId + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void optimizeIfDue(Long groupId, Instant now) {
+        var groupLock = groupWriteSerializer.acquire(groupId);
+        if (!groupLock.isOptimizationPending() || groupLock.getOptimizationDueAt().isAfter(now))
+            return;
+
+        financialRequestOptimizer.optimizeFinancialRequestsIn(groupId);
+        groupLock.setOptimizationPendingSince(null);
+        groupLock.setOptimizationDueAt(null);
+    }
+}
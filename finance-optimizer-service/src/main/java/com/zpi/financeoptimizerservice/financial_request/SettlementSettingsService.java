@@ -0,0 +1,41 @@
+package com.zpi.financeoptimizerservice.financial_request;
+
+import com.zpi.financeoptimizerservice.aspects.AuthorizeCoordinator;
+import com.zpi.financeoptimizerservice.balance.GroupWriteSerializer;
+import com.zpi.financeoptimizerservice.commons.SettlementMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+
+import static com.zpi.financeoptimizerservice.exceptions.ExceptionsInfo.INVALID_PARAMS;
+
+/**
+ * Changes how debts of a group are settled. Kept apart from {@link FinancialRequestService}, which the optimizer
+ * depends on, as a change has to schedule the optimizer.
+ */
+@Service
+@RequiredArgsConstructor
+public class SettlementSettingsService {
+
+    private final GroupSettlementSettingsRepository groupSettlementSettingsRepository;
+
+    private final GroupWriteSerializer groupWriteSerializer;
+
+    private final OptimizationScheduler optimizationScheduler;
+
+    /**
+     * Saves the mode and, when it changes, re-optimizes the group so that pending requests follow the new mode.
+     */
+    @Transactional
+    @AuthorizeCoordinator
+    public void setSettlementMode(Long groupId, SettlementMode settlementMode) {
+        if(groupId == null || settlementMode == null)
+            throw new IllegalArgumentException(INVALID_PARAMS);
+        var groupLock = groupWriteSerializer.acquire(groupId);
+        var previousSettlementMode = groupSettlementSettingsRepository.settlementModeOf(groupId);
+        groupSettlementSettingsRepository.save(new GroupSettlementSettings(groupId, settlementMode));
+        if (previousSettlementMode != settlementMode)
+            optimizationScheduler.requestOptimization(groupLock);
+    }
+}
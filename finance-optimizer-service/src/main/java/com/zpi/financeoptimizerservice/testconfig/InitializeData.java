@@ -1,5 +1,6 @@
 package com.zpi.financeoptimizerservice.testconfig;
 
+import com.zpi.financeoptimizerservice.commons.Money;
 import com.zpi.financeoptimizerservice.commons.Status;
 import com.zpi.financeoptimizerservice.financial_request.FinancialRequest;
 import com.zpi.financeoptimizerservice.financial_request.FinancialRequestRepository;
@@ -24,7 +25,7 @@ public class InitializeData {
             return;
 
         var financialRequests = List.of(
-               new FinancialRequest(BigDecimal.TEN, 1L, 2L, 1L, Status.PENDING)
+               new FinancialRequest(Money.of(BigDecimal.TEN), 1L, 2L, 1L, Status.PENDING)
         );
 
         financialRequestRepository.saveAll(financialRequests);
@@ -1,21 +1,62 @@
 package com.zpi.financeoptimizerservice.validation;
+import com.zpi.financeoptimizerservice.commons.Money;
 import com.zpi.financeoptimizerservice.dto.ExpenditureInputDto;
 import com.zpi.financeoptimizerservice.exceptions.ExpenditureValidationException;
+import com.zpi.financeoptimizerservice.expenditure.Expenditure;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class ExpenditureValidator {
 
+    public static final int MAX_IMPORT_SIZE = 1000;
+
+    private static final BigDecimal MIN_PRICE = new BigDecimal("0.01");
+
+    private static final BigDecimal MAX_PRICE = BigDecimal.valueOf(999_999_999);
+
     public void validateExpenditureInput(ExpenditureInputDto expenditureInput) {
         checkIfFieldsArePresent(expenditureInput);
         validateTitleOf(expenditureInput);
         validatePriceOf(expenditureInput);
     }
 
+    /**
+     * Validates the expenditure as it will be after the edit, fields missing from the edit keep their current values.
+     */
+    public void validateExpenditureEdit(Expenditure expenditure, ExpenditureInputDto edit) {
+        validateExpenditureInput(new ExpenditureInputDto(
+                Optional.ofNullable(edit.creatorId()).orElse(expenditure.getCreatorId()),
+                Optional.ofNullable(edit.title()).orElse(expenditure.getTitle()),
+                Optional.ofNullable(edit.price()).orElseGet(() -> Optional.ofNullable(expenditure.getPrice()).map(Money::toBigDecimal).orElse(null)),
+                Optional.ofNullable(edit.debtorsIds()).orElse(expenditure.getExpenseDebtors())));
+    }
+
+    /**
+     * Validates every expenditure of an import, reporting the first invalid one with its 1-based row number.
+     */
+    public void validateExpenditureInputs(List<ExpenditureInputDto> expenditureInputs) {
+        if (expenditureInputs == null || expenditureInputs.isEmpty()) {
+            throw ExpenditureValidationException.noExpenditures();
+        }
+        if (expenditureInputs.size() > MAX_IMPORT_SIZE) {
+            throw ExpenditureValidationException.tooManyExpenditures(MAX_IMPORT_SIZE);
+        }
+
+        for (int i = 0; i < expenditureInputs.size(); i++) {
+            try {
+                validateExpenditureInput(expenditureInputs.get(i));
+            } catch (ExpenditureValidationException e) {
+                throw ExpenditureValidationException.inRow(i + 1, e);
+            }
+        }
+    }
+
     private void checkIfFieldsArePresent(ExpenditureInputDto expenditureInput) {
         var title = expenditureInput.title();
         if (title == null || title.isBlank()) {
@@ -45,17 +86,17 @@ public class ExpenditureValidator {
     private void validatePriceOf(ExpenditureInputDto expenditureInput) {
         var price = expenditureInput.price();
 
-        if (doesNotHaveTwoFractionDigits(price) || price > 999_999_999) {
+        if (price.compareTo(MIN_PRICE) < 0 || price.compareTo(MAX_PRICE) > 0) {
             throw ExpenditureValidationException.priceOutOfBounds();
         }
 
-        if (doesNotHaveTwoFractionDigits(expenditureInput.pricePerDebtor())) {
-            throw ExpenditureValidationException.pricePerDebtorOutOfBounds();
+        if (price.stripTrailingZeros().scale() > Money.SCALE) {
+            throw ExpenditureValidationException.priceFractionDigits();
         }
-    }
 
-    private boolean doesNotHaveTwoFractionDigits(double price) {
-        return BigDecimal.valueOf(price).compareTo(BigDecimal.valueOf(0.01d)) < 0;
+        if (Money.of(price).minorUnits() < expenditureInput.numberOfDebtors()) {
+            throw ExpenditureValidationException.pricePerDebtorOutOfBounds();
+        }
     }
 
 }
@@ -4,7 +4,7 @@ DROP SEQUENCE IF EXISTS "finance_sequence";
 CREATE SEQUENCE "request_sequence"
     MINVALUE 1
     MAXVALUE 999999999
-    INCREMENT BY 1
+    INCREMENT BY 50
     START WITH 1
     NOCACHE
 NOCYCLE;
@@ -13,7 +13,7 @@ NOCYCLE;
 CREATE SEQUENCE "finance_sequence"
     MINVALUE 1
     MAXVALUE 999999999
-    INCREMENT BY 1
+    INCREMENT BY 50
     START WITH 1
     NOCACHE
 NOCYCLE;
@@ -0,0 +1,6 @@
+-- Ids are allocated in pooled blocks of 50 (allocationSize = 50), ddl-auto update does not alter existing sequences
+CREATE SEQUENCE IF NOT EXISTS request_sequence INCREMENT BY 50;
+ALTER SEQUENCE request_sequence INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS finance_sequence INCREMENT BY 50;
+ALTER SEQUENCE finance_sequence INCREMENT BY 50;
@@ -0,0 +1,74 @@
+package com.zpi.financeoptimizerservice.aspects;
+
+import com.zpi.financeoptimizerservice.configuration.MembershipEventsConfig;
+import com.zpi.financeoptimizerservice.dto.MembershipChangedEvent;
+import com.zpi.financeoptimizerservice.proxies.UserGroupProxy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class GroupMembershipCacheTest {
+
+    private UserGroupProxy userGroupProxy;
+
+    private GroupMembershipCache groupMembershipCache;
+
+    @BeforeEach
+    void setUp() {
+        userGroupProxy = mock(UserGroupProxy.class);
+        groupMembershipCache = new GroupMembershipCache(userGroupProxy, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    void shouldAskGroupServiceOnceForRepeatedChecks() {
+        //given
+        when(userGroupProxy.isUserPartOfTheGroup(anyString(), anyLong(), anyLong())).thenReturn(true);
+
+        //when
+        var first = groupMembershipCache.isUserPartOfTheGroup(1L, 2L);
+        var second = groupMembershipCache.isUserPartOfTheGroup(1L, 2L);
+
+        //then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        verify(userGroupProxy, times(1)).isUserPartOfTheGroup(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void shouldNotCacheAbsentMembership() {
+        //given
+        when(userGroupProxy.isUserCoordinator(anyString(), anyLong(), anyLong())).thenReturn(false);
+        assertThat(groupMembershipCache.isUserCoordinator(1L, 2L)).isFalse();
+
+        //when
+        when(userGroupProxy.isUserCoordinator(anyString(), anyLong(), anyLong())).thenReturn(true);
+        var result = groupMembershipCache.isUserCoordinator(1L, 2L);
+
+        //then
+        assertThat(result).isTrue();
+        verify(userGroupProxy, times(2)).isUserCoordinator(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void shouldAskAgainAfterMembershipEvent() {
+        //given
+        var consumer = new MembershipEventsConfig().membershipChanged(groupMembershipCache);
+        when(userGroupProxy.isUserCoordinator(anyString(), anyLong(), anyLong())).thenReturn(true);
+        groupMembershipCache.isUserCoordinator(1L, 2L);
+
+        //when
+        when(userGroupProxy.isUserCoordinator(anyString(), anyLong(), anyLong())).thenReturn(false);
+        consumer.accept(new MembershipChangedEvent(1L, null));
+        var result = groupMembershipCache.isUserCoordinator(1L, 2L);
+
+        //then
+        assertThat(result).isFalse();
+        verify(userGroupProxy, times(2)).isUserCoordinator(anyString(), anyLong(), anyLong());
+    }
+}
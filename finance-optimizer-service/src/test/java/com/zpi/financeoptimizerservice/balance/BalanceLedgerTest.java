@@ -0,0 +1,170 @@
+package com.zpi.financeoptimizerservice.balance;
+
+import com.zpi.financeoptimizerservice.commons.Money;
+import com.zpi.financeoptimizerservice.commons.Status;
+import com.zpi.financeoptimizerservice.expenditure.Expenditure;
+import com.zpi.financeoptimizerservice.expenditure.ExpenditureRepository;
+import com.zpi.financeoptimizerservice.financial_request.FinancialRequest;
+import com.zpi.financeoptimizerservice.financial_request.FinancialRequestRepository;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BalanceLedger.class, GroupWriteSerializer.class})
+class BalanceLedgerTest {
+
+    @Autowired
+    private BalanceLedger balanceLedger;
+
+    @Autowired
+    private GroupWriteSerializer groupWriteSerializer;
+
+    @Autowired
+    private ExpenditureRepository expenditureRepository;
+
+    @Autowired
+    private FinancialRequestRepository financialRequestRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldSplitExpenditureExactlyGivingRemainderToLowestIds() {
+        //when
+        var result = BalanceLedger.sharesOf(1L, Money.ofMinor(1001), List.of(4L, 2L, 3L));
+
+        //then
+        assertThat(result).isEqualTo(Map.of(1L, 1001L, 2L, -334L, 3L, -334L, 4L, -333L));
+    }
+
+    @Test
+    void shouldSplitSameExpenditureSameWayRegardlessOfDebtorsOrder() {
+        //when
+        var result = BalanceLedger.sharesOf(1L, Money.ofMinor(1000), List.of(3L, 1L, 2L));
+        var reordered = BalanceLedger.sharesOf(1L, Money.ofMinor(1000), List.of(2L, 3L, 1L));
+
+        //then
+        assertThat(result).isEqualTo(Map.of(1L, 666L, 2L, -333L, 3L, -333L));
+        assertThat(reordered).isEqualTo(result);
+    }
+
+    @Test
+    void shouldBuildLedgerFromHistoryOfGroup() {
+        //given
+        expenditureRepository.save(new Expenditure("Dinner", Money.ofMinor(9000), 1L, 1L, List.of(1L, 2L, 3L)));
+        expenditureRepository.save(new Expenditure("Taxi", Money.ofMinor(2000), 1L, 2L, List.of(1L, 3L)));
+        expenditureRepository.save(new Expenditure("Other group", Money.ofMinor(5000), 2L, 1L, List.of(4L)));
+        financialRequestRepository.save(new FinancialRequest(Money.ofMinor(1500), 3L, 1L, 1L, Status.RESOLVED));
+        financialRequestRepository.save(new FinancialRequest(Money.ofMinor(4000), 3L, 1L, 1L, Status.PENDING));
+
+        //when
+        var result = balanceLedger.getBalances(1L);
+
+        //then
+        assertThat(result).isEqualTo(Map.of(1L, 3500L, 2L, -1000L, 3L, -2500L));
+    }
+
+    @Test
+    void shouldApplyChangesOnlyToGivenUsers() {
+        //given
+        balanceLedger.apply(1L, Map.of(1L, 500L, 2L, -300L, 3L, -200L));
+
+        //when
+        balanceLedger.apply(1L, Map.of(2L, 300L, 4L, -300L));
+
+        //then
+        assertThat(balanceLedger.getBalances(1L)).isEqualTo(Map.of(1L, 500L, 2L, 0L, 3L, -200L, 4L, -300L));
+    }
+
+    @Test
+    void shouldNotReadHistoryWhenApplyingChanges() {
+        //given
+        for (int i = 0; i < 500; i++) {
+            expenditureRepository.save(new Expenditure("Expense " + i, Money.ofMinor(1000), 1L, (long) i % 20, List.of(1L, 2L, 3L)));
+        }
+        var groupLock = groupWriteSerializer.acquire(1L);
+        balanceLedger.ensureInitialized(groupLock);
+        entityManager.flush();
+        entityManager.clear();
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        balanceLedger.ensureInitialized(groupWriteSerializer.acquire(1L));
+        balanceLedger.apply(1L, Map.of(1L, 1000L, 2L, -1000L));
+        entityManager.flush();
+
+        //then
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(3); // the lock and balances of both users
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void shouldNetResolvedRequestsPerUser() {
+        //given
+        financialRequestRepository.save(new FinancialRequest(Money.ofMinor(1050), 2L, 1L, 1L, Status.RESOLVED));
+        financialRequestRepository.save(new FinancialRequest(Money.ofMinor(325), 3L, 2L, 1L, Status.RESOLVED));
+        financialRequestRepository.save(new FinancialRequest(Money.ofMinor(99), 1L, 3L, 1L, Status.RESOLVED));
+        financialRequestRepository.save(new FinancialRequest(Money.ofMinor(700), 3L, 1L, 1L, Status.PENDING));
+        financialRequestRepository.save(new FinancialRequest(Money.ofMinor(500), 1L, 2L, 2L, Status.RESOLVED));
+
+        //when
+        var result = balanceLedger.getBalances(1L);
+
+        //then
+        assertThat(result).isEqualTo(Map.of(1L, -951L, 2L, 725L, 3L, 226L));
+    }
+
+    @Test
+    void shouldReadBalancesWithoutLoadingEntities() {
+        //given
+        balanceLedger.apply(1L, Map.of(1L, 500L, 2L, -300L, 3L, -200L));
+        entityManager.flush();
+        entityManager.clear();
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        var result = balanceLedger.getBalances(1L);
+
+        //then
+        assertThat(result).isEqualTo(Map.of(1L, 500L, 2L, -300L, 3L, -200L));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotReadHistoryNorWriteWhenReadingInitializedGroupWithoutBalances() {
+        //given
+        balanceLedger.ensureInitialized(groupWriteSerializer.acquire(1L));
+        entityManager.flush();
+        entityManager.clear();
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        var result = balanceLedger.getBalances(1L);
+        entityManager.flush();
+
+        //then
+        assertThat(result).isEmpty();
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
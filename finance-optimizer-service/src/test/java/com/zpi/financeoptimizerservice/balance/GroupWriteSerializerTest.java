@@ -0,0 +1,148 @@
+package com.zpi.financeoptimizerservice.balance;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@Import(GroupWriteSerializer.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GroupWriteSerializerTest {
+
+    @Autowired
+    private GroupWriteSerializer groupWriteSerializer;
+
+    @Autowired
+    private GroupLockRepository groupLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldLetSecondWriterOfGroupInOnlyAfterFirstCommits() throws Exception {
+        //given
+        var transaction = new TransactionTemplate(transactionManager);
+        var firstLocked = new CountDownLatch(1);
+        var firstCommittedAt = new AtomicLong();
+        var first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            groupWriteSerializer.acquire(10L);
+            firstLocked.countDown();
+            sleep(300);
+            firstCommittedAt.set(System.nanoTime());
+        }));
+        assertThat(firstLocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //when
+        var secondLockedAt = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            groupWriteSerializer.acquire(10L);
+            return System.nanoTime();
+        }));
+
+        //then
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(secondLockedAt.get(5, TimeUnit.SECONDS)).isGreaterThan(firstCommittedAt.get());
+    }
+
+    @Test
+    void shouldNotMakeWritersOfDifferentGroupsWait() throws Exception {
+        //given
+        var transaction = new TransactionTemplate(transactionManager);
+        var firstLocked = new CountDownLatch(1);
+        var secondLocked = new CountDownLatch(1);
+        var first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            groupWriteSerializer.acquire(20L);
+            firstLocked.countDown();
+            waitUntil(() -> secondLocked.getCount() == 0);
+        }));
+        assertThat(firstLocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //when
+        transaction.executeWithoutResult(status -> {
+            groupWriteSerializer.acquire(21L);
+            secondLocked.countDown();
+        });
+
+        //then
+        first.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldKeepOptimizationStateWhenWritersCreateLockOfNewGroupConcurrently() throws Exception {
+        //given
+        var transaction = new TransactionTemplate(transactionManager);
+        var start = new CountDownLatch(1);
+        var dueAt = Instant.parse("2030-01-01T00:00:00Z");
+
+        //when
+        var writers = new CompletableFuture<?>[4];
+        for (int i = 0; i < writers.length; i++) {
+            writers[i] = CompletableFuture.runAsync(() -> {
+                waitUntil(() -> start.getCount() == 0);
+                transaction.executeWithoutResult(status -> {
+                    var groupLock = groupWriteSerializer.acquire(40L);
+                    if (groupLock.getOptimizationDueAt() == null)
+                        groupLock.setOptimizationDueAt(dueAt);
+                });
+            });
+        }
+        start.countDown();
+        CompletableFuture.allOf(writers).get(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(groupLockRepository.findById(40L).orElseThrow().getOptimizationDueAt()).isEqualTo(dueAt);
+    }
+
+    @Test
+    void shouldCreateLockOfNewGroupInCurrentTransaction() {
+        //given
+        var transaction = new TransactionTemplate(transactionManager);
+
+        //when
+        transaction.executeWithoutResult(status -> {
+            groupWriteSerializer.acquire(50L);
+            status.setRollbackOnly();
+        });
+
+        //then
+        assertThat(groupLockRepository.findById(50L)).isEmpty();
+    }
+
+    @Test
+    void shouldRequireTransaction() {
+        assertThrows(IllegalStateException.class, () -> groupWriteSerializer.acquire(30L));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline)
+                throw new AssertionError("Condition not met in time");
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.zpi.financeoptimizerservice.commons;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void shouldConvertDecimalAmountToMinorUnits() {
+        //when
+        var result = Money.of(new BigDecimal("12.5"));
+
+        //then
+        assertThat(result.minorUnits()).isEqualTo(1250L);
+        assertThat(result.toBigDecimal()).isEqualTo(new BigDecimal("12.50"));
+    }
+
+    @Test
+    void shouldRejectAmountWithMoreThanTwoFractionDigits() {
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("0.001")));
+    }
+
+    @Test
+    void shouldGiveRemainderToFirstParts() {
+        //when
+        var result = Money.ofMinor(1001).split(3);
+
+        //then
+        assertThat(result).containsExactly(Money.ofMinor(334), Money.ofMinor(334), Money.ofMinor(333));
+    }
+
+    @Test
+    void shouldSplitIntoPartsSummingUpToAmount() {
+        var random = new Random(15L);
+        for (int run = 0; run < 1000; run++) {
+            //given
+            var amount = Money.ofMinor(random.nextLong() % 100_000_000_000L);
+            var parts = 1 + random.nextInt(50);
+
+            //when
+            var result = amount.split(parts);
+
+            //then
+            assertThat(result).hasSize(parts);
+            assertThat(result.stream().reduce(Money.ZERO, Money::plus)).isEqualTo(amount);
+            var smallest = result.stream().min(Money::compareTo).orElseThrow().minorUnits();
+            var biggest = result.stream().max(Money::compareTo).orElseThrow().minorUnits();
+            assertThat(biggest - smallest).isLessThanOrEqualTo(1L);
+        }
+    }
+
+    @Test
+    void shouldSerializeAsDecimalNumber() throws Exception {
+        //given
+        var objectMapper = new ObjectMapper();
+
+        //when
+        var json = objectMapper.writeValueAsString(Money.ofMinor(-70005));
+        var result = objectMapper.readValue(json, Money.class);
+
+        //then
+        assertThat(json).isEqualTo("-700.05");
+        assertThat(result).isEqualTo(Money.ofMinor(-70005));
+    }
+}
@@ -0,0 +1,81 @@
+package com.zpi.financeoptimizerservice.expenditure;
+
+import com.zpi.financeoptimizerservice.balance.BalanceLedger;
+import com.zpi.financeoptimizerservice.balance.GroupWriteSerializer;
+import com.zpi.financeoptimizerservice.dto.ExpenditureInputDto;
+import com.zpi.financeoptimizerservice.financial_request.FinancialRequestOptimizer;
+import com.zpi.financeoptimizerservice.financial_request.OptimizationScheduler;
+import com.zpi.financeoptimizerservice.validation.ExpenditureValidator;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ExpenditureService.class, ExpenditureValidator.class, BalanceLedger.class, GroupWriteSerializer.class,
+         OptimizationScheduler.class})
+class ExpenditureImportTest {
+
+    private static final int ROWS = 300;
+
+    @Autowired
+    private ExpenditureService expenditureService;
+
+    @Autowired
+    private ExpenditureRepository expenditureRepository;
+
+    @Autowired
+    private BalanceLedger balanceLedger;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private FinancialRequestOptimizer financialRequestOptimizer;
+
+    @Test
+    void shouldImportSpreadsheetWithBatchedStatements() {
+        //given
+        var expenditureInputs = new ArrayList<ExpenditureInputDto>();
+        for (int row = 0; row < ROWS; row++) {
+            expenditureInputs.add(new ExpenditureInputDto((long) row % 3, "Expense " + row, new BigDecimal("10.01"),
+                                                          List.of(0L, 1L, 2L)));
+        }
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        var result = expenditureService.addExpenditures(1L, expenditureInputs);
+        entityManager.flush();
+
+        //then
+        assertThat(result).hasSize(ROWS);
+        // expenditures and balances of three users, the lock row of the group is inserted with a native statement
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS + 3);
+        // 300 expenditures and 900 debtor rows in batches of 50 plus a few sequence, lock and ledger statements,
+        // against more than 1200 statements without batching
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(40);
+        assertThat(expenditureRepository.findAllByGroupId(1L)).hasSize(ROWS);
+        assertThat(balanceLedger.getBalances(1L)).isEqualTo(Map.of(0L, -100L, 1L, -100L, 2L, 200L));
+        verify(financialRequestOptimizer, never()).optimizeFinancialRequestsIn(anyLong());
+    }
+}
@@ -1,13 +1,20 @@
 package com.zpi.financeoptimizerservice.expenditure;
 
+import com.zpi.financeoptimizerservice.balance.BalanceLedger;
+import com.zpi.financeoptimizerservice.balance.GroupLock;
+import com.zpi.financeoptimizerservice.balance.GroupWriteSerializer;
+import com.zpi.financeoptimizerservice.commons.Money;
 import com.zpi.financeoptimizerservice.commons.Status;
 import com.zpi.financeoptimizerservice.dto.ExpenditureInputDto;
+import com.zpi.financeoptimizerservice.exceptions.ExpenditureValidationException;
 import com.zpi.financeoptimizerservice.financial_request.FinancialRequest;
 import com.zpi.financeoptimizerservice.financial_request.FinancialRequestOptimizer;
+import com.zpi.financeoptimizerservice.financial_request.OptimizationScheduler;
 import com.zpi.financeoptimizerservice.financial_request.FinancialRequestService;
 import com.zpi.financeoptimizerservice.proxies.UserGroupProxy;
 import com.zpi.financeoptimizerservice.security.CustomUsernamePasswordAuthenticationToken;
 import com.zpi.financeoptimizerservice.validation.ExpenditureValidator;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,11 +25,10 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -49,6 +55,22 @@ class ExpenditureServiceTest {
     @MockBean
     UserGroupProxy userGroupProxy;
 
+    @MockBean
+    BalanceLedger balanceLedger;
+
+    @MockBean
+    GroupWriteSerializer groupWriteSerializer;
+
+    @MockBean
+    OptimizationScheduler optimizationScheduler;
+
+    GroupLock groupLock = new GroupLock(1L);
+
+    @BeforeEach
+    void mockGroupLock() {
+        when(groupWriteSerializer.acquire(anyLong())).thenReturn(groupLock);
+    }
+
 
     void mockAuthorizePartOfTheGroupAspect(){
         Authentication authentication = new CustomUsernamePasswordAuthenticationToken(null, null, 1L);
@@ -67,7 +89,7 @@ class ExpenditureServiceTest {
     void shouldReturnExpendituresMetadata() {
         //given
         mockAuthorizePartOfTheGroupAspect();
-        var expenditureSet = Set.of(new Expenditure("Title", BigDecimal.TEN, 1L, 1L, List.of(1L, 2L)));
+        var expenditureSet = Set.of(new Expenditure("Title", Money.ofMinor(1000), 1L, 1L, List.of(1L, 2L)));
 
         //when
         when(expenditureRepository.findAllByGroupId(anyLong())).thenReturn(expenditureSet);
@@ -82,14 +104,14 @@ class ExpenditureServiceTest {
     void shouldAddCorrectlyExpenditure() {
         //given
         mockAuthorizePartOfTheGroupAspect();
-        var expenditureInput = new ExpenditureInputDto(1L, "Title", 10.0, List.of(1L, 2L));
+        var expenditureInput = new ExpenditureInputDto(1L, "Title", BigDecimal.valueOf(10.0), List.of(1L, 2L));
 
         //when
         when(expenditureRepository.save(any(Expenditure.class))).thenAnswer(i -> i.getArguments()[0]);
         var actualResult = expenditureService.addExpenditure(1L, expenditureInput);
 
         //then
-        var expectedResult = new Expenditure("Title", BigDecimal.valueOf(10.0), 1L, 1L, List.of(1L, 2L));
+        var expectedResult = new Expenditure("Title", Money.ofMinor(1000), 1L, 1L, List.of(1L, 2L));
         assertThat(actualResult).satisfies(
                 actual -> {
                     assertThat(actual.getCreatorId()).isEqualTo(expectedResult.getCreatorId());
@@ -101,8 +123,8 @@ class ExpenditureServiceTest {
         );
         verify(expenditureRepository, times(1)).save(any(Expenditure.class));
         verify(expenditureValidator, times(1)).validateExpenditureInput(any(ExpenditureInputDto.class));
-        verify(financialRequestService, times(1)).addFinancialRequests(anyLong(), anyMap(), anyLong());
-        verify(financialRequestOptimizer, times(1)).optimizeFinancialRequestsIn(anyLong());
+        verify(balanceLedger, times(1)).apply(1L, Map.of(1L, 500L, 2L, -500L));
+        verify(optimizationScheduler, times(1)).requestOptimization(groupLock);
     }
 
     @Test
@@ -110,8 +132,8 @@ class ExpenditureServiceTest {
         //given
         mockAuthorizePartOfTheGroupAspect();
         mockAuthorizeAuthorOrCoordinatorExpenditureAspect();
-        var expenditureInput = new ExpenditureInputDto(1L, "Title", 10.0, List.of(1L, 2L));
-        var existingExpenditure = new Expenditure("Title", BigDecimal.ONE, 1L, 1L, List.of(1L, 2L));
+        var expenditureInput = new ExpenditureInputDto(1L, "Title", BigDecimal.valueOf(10.0), List.of(1L, 2L));
+        var existingExpenditure = new Expenditure("Title", Money.ofMinor(100), 1L, 1L, List.of(1L, 2L));
 
         //when
         when(expenditureRepository.findById(anyLong())).thenReturn(Optional.of(existingExpenditure));
@@ -119,7 +141,7 @@ class ExpenditureServiceTest {
         var actualResult = expenditureService.editExpenditure(1L, 1L, expenditureInput);
 
         //then
-        var expectedResult = new Expenditure("Title", BigDecimal.valueOf(10.0), 1L, 1L, List.of(1L, 2L));
+        var expectedResult = new Expenditure("Title", Money.ofMinor(1000), 1L, 1L, List.of(1L, 2L));
         assertThat(actualResult).satisfies(
                 actual -> {
                     assertThat(actual.getCreatorId()).isEqualTo(expectedResult.getCreatorId());
@@ -131,8 +153,10 @@ class ExpenditureServiceTest {
         );
         verify(expenditureRepository, times(1)).save(any(Expenditure.class));
         verify(expenditureRepository, times(2)).findById(anyLong());
-        verify(financialRequestService, times(1)).deleteAllFinancialRequests(anyLong());
-        verify(financialRequestOptimizer, times(1)).optimizeFinancialRequestsIn(anyLong());
+        verify(groupWriteSerializer, times(1)).reload(existingExpenditure);
+        verify(balanceLedger, times(1)).apply(1L, Map.of(1L, 450L, 2L, -450L));
+        verify(expenditureRepository, never()).findAllByGroupId(anyLong());
+        verify(optimizationScheduler, times(1)).requestOptimization(groupLock);
     }
 
     @Test
@@ -141,7 +165,7 @@ class ExpenditureServiceTest {
         mockAuthorizePartOfTheGroupAspect();
         mockAuthorizeAuthorOrCoordinatorExpenditureAspect();
         var expenditureInput = new ExpenditureInputDto(null, "Changed Title", null, null);
-        var existingExpenditure = new Expenditure("Title", BigDecimal.valueOf(10.0), 1L, 1L, List.of(1L, 2L));
+        var existingExpenditure = new Expenditure("Title", Money.ofMinor(1000), 1L, 1L, List.of(1L, 2L));
 
         //when
         when(expenditureRepository.findById(anyLong())).thenReturn(Optional.of(existingExpenditure));
@@ -149,7 +173,7 @@ class ExpenditureServiceTest {
         var actualResult = expenditureService.editExpenditure(1L, 1L, expenditureInput);
 
         //then
-        var expectedResult = new Expenditure("Changed Title", BigDecimal.valueOf(10.0), 1L, 1L, List.of(1L, 2L));
+        var expectedResult = new Expenditure("Changed Title", Money.ofMinor(1000), 1L, 1L, List.of(1L, 2L));
         assertThat(actualResult).satisfies(
                 actual -> {
                     assertThat(actual.getCreatorId()).isEqualTo(expectedResult.getCreatorId());
@@ -161,8 +185,53 @@ class ExpenditureServiceTest {
         );
         verify(expenditureRepository, times(1)).save(any(Expenditure.class));
         verify(expenditureRepository, times(2)).findById(anyLong());
-        verify(financialRequestService, never()).deleteAllFinancialRequests(anyLong());
-        verify(financialRequestOptimizer, never()).optimizeFinancialRequestsIn(anyLong());
+        verify(balanceLedger, never()).apply(anyLong(), anyMap());
+        verify(optimizationScheduler, never()).requestOptimization(any(GroupLock.class));
+    }
+
+    @Test
+    void shouldNotEditExpenditureWhenEditIsInvalid() {
+        //given
+        mockAuthorizePartOfTheGroupAspect();
+        mockAuthorizeAuthorOrCoordinatorExpenditureAspect();
+        var expenditureInput = new ExpenditureInputDto(null, null, new BigDecimal("10.005"), null);
+        var existingExpenditure = new Expenditure("Title", Money.ofMinor(1000), 1L, 1L, List.of(1L, 2L));
+        when(expenditureRepository.findById(anyLong())).thenReturn(Optional.of(existingExpenditure));
+        doThrow(ExpenditureValidationException.priceFractionDigits())
+                .when(expenditureValidator).validateExpenditureEdit(existingExpenditure, expenditureInput);
+
+        //when
+        assertThatThrownBy(() -> expenditureService.editExpenditure(1L, 1L, expenditureInput))
+                .isInstanceOf(ExpenditureValidationException.class);
+
+        //then
+        assertThat(existingExpenditure.getPrice()).isEqualTo(Money.ofMinor(1000));
+        verify(expenditureRepository, never()).save(any(Expenditure.class));
+        verify(balanceLedger, never()).apply(anyLong(), anyMap());
+        verify(optimizationScheduler, never()).requestOptimization(any(GroupLock.class));
+    }
+
+    @Test
+    void shouldNotChangeLedgerWhenExpenditureIsFromAnotherGroup() {
+        //given
+        mockAuthorizePartOfTheGroupAspect();
+        mockAuthorizeAuthorOrCoordinatorExpenditureAspect();
+        var expenditureInput = new ExpenditureInputDto(null, null, BigDecimal.valueOf(20.0), null);
+        var otherGroupExpenditure = new Expenditure("Title", Money.ofMinor(1000), 2L, 1L, List.of(1L, 2L));
+        when(expenditureRepository.findById(anyLong())).thenReturn(Optional.of(otherGroupExpenditure));
+
+        //when
+        assertThatThrownBy(() -> expenditureService.editExpenditure(1L, 1L, expenditureInput))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> expenditureService.deleteExpenditure(1L, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        //then
+        assertThat(otherGroupExpenditure.getPrice()).isEqualTo(Money.ofMinor(1000));
+        verify(expenditureRepository, never()).save(any(Expenditure.class));
+        verify(expenditureRepository, never()).delete(any(Expenditure.class));
+        verify(balanceLedger, never()).apply(anyLong(), anyMap());
+        verify(optimizationScheduler, never()).requestOptimization(any(GroupLock.class));
     }
 
     @Test
@@ -171,46 +240,51 @@ class ExpenditureServiceTest {
         mockAuthorizePartOfTheGroupAspect();
         mockAuthorizeAuthorOrCoordinatorExpenditureAspect();
 
+        var existingExpenditure = new Expenditure("Title", Money.ofMinor(1000), 1L, 1L, List.of(1L, 2L));
+
         //when
+        when(expenditureRepository.findById(anyLong())).thenReturn(Optional.of(existingExpenditure));
         expenditureService.deleteExpenditure(1L,1L);
 
         //then
         verify(expenditureRepository, times(1)).delete(any(Expenditure.class));
-        verify(financialRequestService, times(1)).deleteAllFinancialRequests(anyLong());
-        verify(financialRequestOptimizer, times(1)).optimizeFinancialRequestsIn(anyLong());
+        verify(groupWriteSerializer, times(1)).acquire(1L);
+        verify(balanceLedger, times(1)).apply(1L, Map.of(1L, -500L, 2L, 500L));
+        verify(optimizationScheduler, times(1)).requestOptimization(groupLock);
 
     }
 
     @Test
-    void getGroupBalance() {
+    void shouldOnlyRequestOptimizationWhenAddingExpenditure() {
         //given
         mockAuthorizePartOfTheGroupAspect();
-        FinancialRequest financialRequest = new FinancialRequest(BigDecimal.valueOf(1000), 0L, 1L, 1L, Status.PENDING);
-        FinancialRequest financialRequest1 = new FinancialRequest(BigDecimal.valueOf(2000), 0L, 2L, 1L, Status.PENDING);
-        FinancialRequest financialRequest2 = new FinancialRequest(BigDecimal.valueOf(5000), 1L, 2L, 1L, Status.PENDING);
-        Set<FinancialRequest> financialRequests = Set.of(financialRequest, financialRequest1, financialRequest2);
+        var expenditureInput = new ExpenditureInputDto(1L, "Title", BigDecimal.valueOf(10.0), List.of(1L, 2L));
 
         //when
-        when(financialRequestService.getAllActiveFinancialRequestsIn(anyLong())).thenReturn(financialRequests);
-        when(financialRequestOptimizer.calculateNetCashFlowIn(financialRequests)).thenCallRealMethod();
-        when(financialRequestOptimizer.convertPricesToBigDecimal(financialRequestOptimizer.calculateNetCashFlowIn(financialRequests))).thenCallRealMethod();
-        var actualBalance = expenditureService.getGroupBalance(1L);
+        when(expenditureRepository.save(any(Expenditure.class))).thenAnswer(i -> i.getArguments()[0]);
+        expenditureService.addExpenditure(1L, expenditureInput);
 
         //then
-        var expectedBalance = Map.of(0L, BigDecimal.valueOf(-3000.00).setScale(2, RoundingMode.CEILING), 1L, BigDecimal.valueOf(-4000.00).setScale(2, RoundingMode.CEILING), 2L, BigDecimal.valueOf(7000.00).setScale(2, RoundingMode.CEILING));
-        assertTrue(areMapsEqual(actualBalance, expectedBalance));
-        verify(financialRequestService, times(1)).getAllActiveFinancialRequestsIn(anyLong());
-        verify(financialRequestOptimizer, times(2)).calculateNetCashFlowIn(anySet());
-        verify(financialRequestOptimizer, times(1)).convertPricesToBigDecimal(anyMap());
-
+        var order = inOrder(groupWriteSerializer, balanceLedger, optimizationScheduler);
+        order.verify(groupWriteSerializer).acquire(1L);
+        order.verify(balanceLedger).apply(1L, Map.of(1L, 500L, 2L, -500L));
+        order.verify(optimizationScheduler).requestOptimization(groupLock);
+        verify(financialRequestOptimizer, never()).optimizeFinancialRequestsIn(anyLong());
     }
 
-    private boolean areMapsEqual(Map<Long, BigDecimal> first, Map<Long, BigDecimal> second) {
-        if (first.size() != second.size()) {
-            return false;
-        }
+    @Test
+    void getGroupBalance() {
+        //given
+        mockAuthorizePartOfTheGroupAspect();
 
-        return first.entrySet().stream()
-                .allMatch(e -> e.getValue().equals(second.get(e.getKey())));
+        //when
+        when(balanceLedger.getBalances(anyLong())).thenReturn(Map.of(0L, -300000L, 1L, -400000L, 2L, 700000L));
+        var actualBalance = expenditureService.getGroupBalance(1L);
+
+        //then
+        var expectedBalance = Map.of(0L, Money.ofMinor(-300000), 1L, Money.ofMinor(-400000), 2L, Money.ofMinor(700000));
+        assertThat(actualBalance).isEqualTo(expectedBalance);
+        verify(balanceLedger, times(1)).getBalances(1L);
+        verify(financialRequestService, never()).getAllActiveFinancialRequestsIn(anyLong());
     }
-}
\ No newline at end of file
+}
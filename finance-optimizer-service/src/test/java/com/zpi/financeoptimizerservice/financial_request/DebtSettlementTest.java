@@ -0,0 +1,126 @@
+package com.zpi.financeoptimizerservice.financial_request;
+
+import com.zpi.financeoptimizerservice.financial_request.DebtSettlement.Settlement;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DebtSettlementTest {
+
+    @Test
+    void shouldSettleBiggestReceiverWithBiggestGiver() {
+        //given
+        Map<Long, Long> balances = Map.of(0L, -300000L, 1L, -400000L, 2L, 700000L);
+
+        //when
+        var result = DebtSettlement.settle(balances);
+
+        //then
+        assertThat(result).containsExactly(new Settlement(2L, 1L, 400000L),
+                                           new Settlement(2L, 0L, 300000L));
+    }
+
+    @Test
+    void shouldSkipUsersWithZeroBalance() {
+        //given
+        Map<Long, Long> balances = Map.of(0L, 0L, 1L, -150L, 2L, 150L, 3L, 0L);
+
+        //when
+        var result = DebtSettlement.settle(balances);
+
+        //then
+        assertThat(result).containsExactly(new Settlement(2L, 1L, 150L));
+    }
+
+    @Test
+    void shouldProduceSameSettlementsAsScanningAlgorithm() {
+        var random = new Random(20221212L);
+        for (int run = 0; run < 2000; run++) {
+            //given
+            var balances = randomBalances(random, 2 + random.nextInt(11), random.nextBoolean() ? 20 : 1_000_000);
+
+            //when
+            var result = DebtSettlement.settle(balances);
+
+            //then
+            assertThat(result).as("balances %s", balances).isEqualTo(scanningSettlement(balances));
+        }
+    }
+
+    @Test
+    void shouldSettleEveryBalanceInLargeGroup() {
+        //given
+        var balances = randomBalances(new Random(7L), 5000, 10_000_000);
+
+        //when
+        var result = DebtSettlement.settle(balances);
+
+        //then
+        Map<Long, Long> settled = new HashMap<>(balances);
+        for (var settlement : result) {
+            assertThat(settlement.amountInCents()).isPositive();
+            settled.merge(settlement.debteeId(), -settlement.amountInCents(), Long::sum);
+            settled.merge(settlement.debtorId(), settlement.amountInCents(), Long::sum);
+        }
+        assertThat(settled.values()).containsOnly(0L);
+        assertThat(result.size()).isLessThan(balances.size());
+    }
+
+    /**
+     * Zero-sum balances of users with ids below 16, so that the scanning algorithm, which breaks ties by
+     * {@link HashMap} iteration order, breaks them by the lower user id as well. Small amounts make ties common.
+     */
+    private Map<Long, Long> randomBalances(Random random, int users, int maxAmount) {
+        Map<Long, Long> balances = new HashMap<>();
+        var sum = 0L;
+        for (long user = 0; user < users - 1; user++) {
+            var cents = random.nextInt(2 * maxAmount + 1) - (long) maxAmount;
+            if (cents != 0)
+                balances.put(user, cents);
+            sum += cents;
+        }
+        if (sum != 0)
+            balances.put(users - 1L, -sum);
+        return balances;
+    }
+
+    /**
+     * The settlement previously done by {@link FinancialRequestOptimizer}: a full scan for the max receiver and the
+     * max giver on every step.
+     */
+    private List<Settlement> scanningSettlement(Map<Long, Long> balancesInCents) {
+        Map<Long, BigDecimal> netCashFlow = new HashMap<>();
+        balancesInCents.forEach((user, cents) -> netCashFlow.put(user, BigDecimal.valueOf(cents, 2)));
+
+        var result = new ArrayList<Settlement>();
+        while (netCashFlow.size() > 1) {
+            var maxReceiver = netCashFlow.entrySet().stream().max(Map.Entry.comparingByValue()).orElseThrow();
+            var maxGiver = netCashFlow.entrySet().stream().min(Map.Entry.comparingByValue()).orElseThrow();
+
+            var maxReceiverCashFlow = maxReceiver.getValue();
+            var maxGiverCashFlow = maxGiver.getValue();
+            var debteeId = maxReceiver.getKey();
+            var debtorId = maxGiver.getKey();
+            var cashFlowDifference = maxReceiverCashFlow.add(maxGiverCashFlow);
+            var nextRequestPrice = maxGiverCashFlow.abs();
+
+            if (cashFlowDifference.compareTo(BigDecimal.ZERO) > 0) {
+                netCashFlow.remove(debtorId);
+                netCashFlow.put(debteeId, cashFlowDifference);
+            } else if (cashFlowDifference.compareTo(BigDecimal.ZERO) < 0) {
+                netCashFlow.remove(debteeId);
+                netCashFlow.put(debtorId, cashFlowDifference);
+                nextRequestPrice = maxReceiverCashFlow;
+            } else {
+                netCashFlow.remove(debtorId);
+                netCashFlow.remove(debteeId);
+            }
+
+            result.add(new Settlement(debteeId, debtorId, nextRequestPrice.movePointRight(2).longValueExact()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,76 @@
+package com.zpi.financeoptimizerservice.financial_request;
+
+import com.zpi.financeoptimizerservice.balance.BalanceLedger;
+import com.zpi.financeoptimizerservice.balance.GroupWriteSerializer;
+import com.zpi.financeoptimizerservice.commons.Money;
+import com.zpi.financeoptimizerservice.commons.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@Import({FinancialRequestService.class, BalanceLedger.class, GroupWriteSerializer.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FinancialRequestAcceptanceTest {
+
+    @Autowired
+    private FinancialRequestService financialRequestService;
+
+    @Autowired
+    private FinancialRequestRepository financialRequestRepository;
+
+    @Autowired
+    private BalanceLedger balanceLedger;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldSettleRequestOnceWhenAcceptedConcurrently() throws Exception {
+        //given
+        var requestId = financialRequestRepository.save(new FinancialRequest(Money.ofMinor(1250), 3L, 2L, 60L, Status.PENDING))
+                                                  .getFinancialRequestId();
+        var transaction = new TransactionTemplate(transactionManager);
+        var bothLoaded = new CountDownLatch(2);
+
+        //when
+        var accepts = new CompletableFuture<?>[2];
+        for (int i = 0; i < accepts.length; i++) {
+            accepts[i] = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+                // loaded before the lock is taken, like the authorization aspect does with open session in view
+                financialRequestRepository.findById(requestId);
+                bothLoaded.countDown();
+                await(bothLoaded);
+                financialRequestService.acceptFinancialRequest(requestId, 60L);
+            }));
+        }
+        CompletableFuture.allOf(accepts).get(10, TimeUnit.SECONDS);
+
+        //then
+        assertThat(financialRequestRepository.findById(requestId).orElseThrow().getStatus()).isEqualTo(Status.RESOLVED);
+        assertThat(balanceLedger.getBalances(60L)).isEqualTo(Map.of(3L, 1250L, 2L, -1250L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS))
+                throw new AssertionError("Latch not released in time");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.zpi.financeoptimizerservice.financial_request;
+
+import com.zpi.financeoptimizerservice.balance.BalanceLedger;
+import com.zpi.financeoptimizerservice.balance.GroupWriteSerializer;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({FinancialRequestOptimizer.class, FinancialRequestService.class, BalanceLedger.class, GroupWriteSerializer.class})
+class FinancialRequestBatchingTest {
+
+    private static final int DEBTORS = 40;
+
+    @Autowired
+    private FinancialRequestOptimizer financialRequestOptimizer;
+
+    @Autowired
+    private FinancialRequestRepository financialRequestRepository;
+
+    @Autowired
+    private BalanceLedger balanceLedger;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldInsertGeneratedFinancialRequestsInBatches() {
+        //given
+        Map<Long, Long> balances = new HashMap<>();
+        balances.put(0L, DEBTORS * 1000L);
+        for (long debtor = 1; debtor <= DEBTORS; debtor++) {
+            balances.put(debtor, -1000L);
+        }
+        balanceLedger.apply(1L, balances);
+        entityManager.flush();
+        entityManager.clear();
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        financialRequestOptimizer.optimizeFinancialRequestsIn(1L);
+        entityManager.flush();
+
+        //then
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(DEBTORS);
+        // pending requests, settlement settings, ledger check, ledger read, at most two sequence calls (the pooled
+        // optimizer reads a fresh sequence twice) and a single insert batch
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(7);
+        assertThat(financialRequestRepository.getAllActiveInGroup(1L)).hasSize(DEBTORS);
+    }
+}
@@ -0,0 +1,66 @@
+package com.zpi.financeoptimizerservice.financial_request;
+
+import com.zpi.financeoptimizerservice.balance.BalanceLedger;
+import com.zpi.financeoptimizerservice.balance.GroupLockRepository;
+import com.zpi.financeoptimizerservice.balance.GroupWriteSerializer;
+import com.zpi.financeoptimizerservice.dto.ExpenditureInputDto;
+import com.zpi.financeoptimizerservice.expenditure.ExpenditureService;
+import com.zpi.financeoptimizerservice.validation.ExpenditureValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@Import({FinancialRequestService.class, ExpenditureService.class, ExpenditureValidator.class, BalanceLedger.class,
+         GroupWriteSerializer.class, OptimizationScheduler.class})
+class FinancialRequestInvolvementTest {
+
+    @Autowired
+    private FinancialRequestService financialRequestService;
+
+    @Autowired
+    private ExpenditureService expenditureService;
+
+    @Autowired
+    private FinancialRequestRepository financialRequestRepository;
+
+    @Autowired
+    private GroupLockRepository groupLockRepository;
+
+    @MockBean
+    private FinancialRequestOptimizer financialRequestOptimizer;
+
+    @Test
+    void shouldTreatNewDebtorAsInvolvedBeforeRequestsAreGenerated() {
+        //given
+        assertThat(financialRequestService.isDebtorOrDebteeToAnyFinancialRequests(70L, 2L)).isFalse();
+
+        //when
+        expenditureService.addExpenditure(70L, new ExpenditureInputDto(1L, "Dinner", new BigDecimal("20.00"), List.of(1L, 2L)));
+
+        //then
+        verify(financialRequestOptimizer, never()).optimizeFinancialRequestsIn(anyLong());
+        assertThat(financialRequestRepository.getAllActiveInGroup(70L)).isEmpty();
+        assertThat(financialRequestService.isDebtorOrDebteeToAnyFinancialRequests(70L, 2L)).isTrue();
+        assertThat(financialRequestService.isDebtorOrDebteeToAnyFinancialRequests(70L, 3L)).isTrue();
+
+        //when
+        groupLockRepository.findById(70L).orElseThrow().setOptimizationDueAt(null);
+
+        //then
+        assertThat(financialRequestService.isDebtorOrDebteeToAnyFinancialRequests(70L, 2L)).isTrue();
+        assertThat(financialRequestService.isDebtorOrDebteeToAnyFinancialRequests(70L, 3L)).isFalse();
+    }
+}
@@ -1,5 +1,10 @@
 package com.zpi.financeoptimizerservice.financial_request;
 
+import com.zpi.financeoptimizerservice.balance.BalanceLedger;
+import com.zpi.financeoptimizerservice.balance.GroupLock;
+import com.zpi.financeoptimizerservice.balance.GroupLockRepository;
+import com.zpi.financeoptimizerservice.balance.GroupWriteSerializer;
+import com.zpi.financeoptimizerservice.commons.Money;
 import com.zpi.financeoptimizerservice.commons.Status;
 import com.zpi.financeoptimizerservice.proxies.UserGroupProxy;
 import com.zpi.financeoptimizerservice.security.CustomUsernamePasswordAuthenticationToken;
@@ -14,9 +19,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.ActiveProfiles;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.List;
+import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -39,15 +42,21 @@ class FinancialRequestServiceTest {
     @InjectMocks
     FinancialRequestService financialRequestService;
 
-    @Captor
-    ArgumentCaptor<List<FinancialRequest>> financialRequestList;
-
     @Captor
     ArgumentCaptor<FinancialRequest> financialRequest;
 
     @MockBean
     UserGroupProxy userGroupProxy;
 
+    @MockBean
+    BalanceLedger balanceLedger;
+
+    @MockBean
+    GroupWriteSerializer groupWriteSerializer;
+
+    @MockBean
+    GroupLockRepository groupLockRepository;
+
     void mockAuthorizePartOfTheGroupAspect(){
         Authentication authentication = new CustomUsernamePasswordAuthenticationToken(null, null, 1L);
         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -61,44 +70,10 @@ class FinancialRequestServiceTest {
         doReturn(Boolean.TRUE).when(userGroupProxy).isUserCoordinator(anyString(), anyLong(), anyLong());
     }
 
-    @Test
-    void shouldAddFinancialRequests() {
-        //given
-        var debts = Map.of(0L, -3000.00, 1L, -4000.00, 3L, 7000.00);
-
-        //when
-        financialRequestService.addFinancialRequests(2L, debts, 1L);
-
-        //then
-        var expectedFinancialRequests =  List.of(new FinancialRequest(BigDecimal.valueOf(7000).setScale(1, RoundingMode.CEILING), 3L, 2L, 1L, Status.PENDING),
-                new FinancialRequest(BigDecimal.valueOf(-4000).setScale(1, RoundingMode.CEILING), 1L, 2L, 1L, Status.PENDING),
-                new FinancialRequest(BigDecimal.valueOf(-3000).setScale(1, RoundingMode.CEILING), 0L, 2L, 1L, Status.PENDING));
-        verify(financialRequestRepository, times(1)).saveAll(financialRequestList.capture());
-        var actualFinancialRequests = financialRequestList.getValue();
-        assertThat(actualFinancialRequests).hasSameElementsAs(expectedFinancialRequests);
-    }
-
-    @Test
-    void shouldAddSingleFinancialRequest() {
-        //when
-        financialRequestService.addFinancialRequest(1L,2L, 15.0, 1L);
-
-        //then
-        var expectedFinancialRequest = new FinancialRequest(BigDecimal.valueOf(15.0).setScale(1,
-                RoundingMode.CEILING),
-                2L,
-                1L,
-                1L,
-                Status.PENDING);
-        verify(financialRequestRepository, times(1)).save(financialRequest.capture());
-        var actualFinancialRequest = financialRequest.getValue();
-        assertThat(actualFinancialRequest).isEqualTo(expectedFinancialRequest);
-    }
-
     @Test
     void shouldReturnAllActiveFinancialRequests() {
         //given
-        var financialRequests = Set.of(new FinancialRequest(BigDecimal.valueOf(-4000).setScale(1, RoundingMode.CEILING), 1L, 2L, 1L, Status.PENDING));
+        var financialRequests = Set.of(new FinancialRequest(Money.ofMinor(-400000), 1L, 2L, 1L, Status.PENDING));
         //when
         when(financialRequestRepository.getAllActiveInGroup(anyLong())).thenReturn(financialRequests);
         var actualResult = financialRequestService.getAllActiveFinancialRequestsIn(1L);
@@ -112,7 +87,7 @@ class FinancialRequestServiceTest {
     void shouldReturnAllExpendituresWhereUserIsDebtorOrDebtee() {
         //given
         mockAuthorizePartOfTheGroupAspect();
-        var financialRequests = Set.of(new FinancialRequest(BigDecimal.valueOf(-4000).setScale(1, RoundingMode.CEILING), 1L, 2L, 1L, Status.PENDING));
+        var financialRequests = Set.of(new FinancialRequest(Money.ofMinor(-400000), 1L, 2L, 1L, Status.PENDING));
 
         //when
         when(financialRequestRepository.getAllByDebtorAndExpenditure(anyLong(), anyLong())).thenReturn(financialRequests);
@@ -128,30 +103,41 @@ class FinancialRequestServiceTest {
         //given
         mockAuthorizePartOfTheGroupAspect();
         mockAuthorizeAuthorOrCoordinatorRequestAspect();
+        var pendingRequest = new FinancialRequest(Money.ofMinor(1250), 2L, 3L, 1L, Status.PENDING);
 
         //when
+        when(financialRequestRepository.findById(anyLong())).thenReturn(Optional.of(pendingRequest));
         financialRequestService.acceptFinancialRequest(1L, 1L);
 
         //then
         verify(financialRequestRepository, times(2)).findById(anyLong());
         verify(financialRequestRepository, times(1)).save(financialRequest.capture());
         assertThat(Status.RESOLVED).isEqualTo(financialRequest.getValue().getStatus());
+        verify(groupWriteSerializer, times(1)).acquire(1L);
+        verify(balanceLedger, times(1)).apply(1L, Map.of(3L, -1250L, 2L, 1250L));
     }
 
     @Test
-    void shouldDeleteAllFinancialRequests() {
+    void shouldReturnThatOptimizationIsPending() {
+        //given
+        mockAuthorizePartOfTheGroupAspect();
+        var groupLock = new GroupLock(1L);
+        groupLock.setOptimizationDueAt(Instant.now());
+
         //when
-        financialRequestService.deleteAllFinancialRequests(1L);
+        when(groupLockRepository.findById(1L)).thenReturn(Optional.of(groupLock));
+        when(groupLockRepository.findById(2L)).thenReturn(Optional.empty());
 
         //then
-        verify(financialRequestRepository, times(1)).deleteAllByGroupId(1L);
+        assertTrue(financialRequestService.isOptimizationPending(1L));
+        assertFalse(financialRequestService.isOptimizationPending(2L));
     }
 
     @Test
     void shouldGetAllUnsettledExpenses() {
         //given
         mockAuthorizePartOfTheGroupAspect();
-        var financialRequests = Set.of(new FinancialRequest(BigDecimal.valueOf(-4000).setScale(1, RoundingMode.CEILING), 1L, 2L, 1L, Status.PENDING));
+        var financialRequests = Set.of(new FinancialRequest(Money.ofMinor(-400000), 1L, 2L, 1L, Status.PENDING));
         //when
         when(financialRequestRepository.getAllActiveInGroup(anyLong())).thenReturn(financialRequests);
         var actualResult = financialRequestService.getAllUnsettledFinanceRequests(1L);
@@ -165,7 +151,7 @@ class FinancialRequestServiceTest {
     void shouldGetAllExpensesInGroup() {
         //given
         mockAuthorizePartOfTheGroupAspect();
-        var financialRequests = Set.of(new FinancialRequest(BigDecimal.valueOf(-4000).setScale(1, RoundingMode.CEILING), 1L, 2L, 1L, Status.RESOLVED));
+        var financialRequests = Set.of(new FinancialRequest(Money.ofMinor(-400000), 1L, 2L, 1L, Status.RESOLVED));
         //when
         when(financialRequestRepository.getAllFinancialRequestInGroup(anyLong())).thenReturn(financialRequests);
         var actualResult = financialRequestService.getAllFinancialRequestInGroup(1L, 1L);
@@ -179,14 +165,13 @@ class FinancialRequestServiceTest {
     void shouldReturnTrueThatIsDebtorOrDebteeToAnyRequests() {
         //given
         mockAuthorizePartOfTheGroupAspect();
-        var financialRequests = Set.of(new FinancialRequest(BigDecimal.valueOf(-4000).setScale(1, RoundingMode.CEILING), 1L, 2L, 1L, Status.PENDING));
 
         //when
-        when(financialRequestRepository.getAllByDebtorAndExpenditure(anyLong(), anyLong())).thenReturn(financialRequests);
+        when(balanceLedger.getBalances(1L)).thenReturn(Map.of(1L, -1250L, 2L, 1250L));
         var actualResult = financialRequestService.isDebtorOrDebteeToAnyFinancialRequests(1L, 1L);
 
         //then
-        verify(financialRequestRepository, times(1)).getAllByDebtorAndExpenditure(1L, 1L);
+        verify(balanceLedger, times(1)).getBalances(1L);
         assertTrue(actualResult);
     }
 
@@ -194,15 +179,31 @@ class FinancialRequestServiceTest {
     void shouldReturnFalseThatIsNotDebtorOrDebteeToAnyRequests() {
         //given
         mockAuthorizePartOfTheGroupAspect();
-        Set<FinancialRequest> financialRequests = Set.of();
 
         //when
-        when(financialRequestRepository.getAllByDebtorAndExpenditure(anyLong(), anyLong())).thenReturn(financialRequests);
+        when(balanceLedger.getBalances(1L)).thenReturn(Map.of(1L, 0L, 2L, 1250L, 3L, -1250L));
+        when(groupLockRepository.findById(1L)).thenReturn(Optional.of(new GroupLock(1L)));
         var actualResult = financialRequestService.isDebtorOrDebteeToAnyFinancialRequests(1L, 1L);
 
         //then
-        verify(financialRequestRepository, times(1)).getAllByDebtorAndExpenditure(1L, 1L);
+        verify(balanceLedger, times(1)).getBalances(1L);
         assertFalse(actualResult);
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldReturnTrueThatIsDebtorOrDebteeWhileOptimizationIsPending() {
+        //given
+        mockAuthorizePartOfTheGroupAspect();
+        var groupLock = new GroupLock(1L);
+        groupLock.setOptimizationDueAt(Instant.now());
+
+        //when
+        when(balanceLedger.getBalances(1L)).thenReturn(Map.of());
+        when(groupLockRepository.findById(1L)).thenReturn(Optional.of(groupLock));
+        var actualResult = financialRequestService.isDebtorOrDebteeToAnyFinancialRequests(1L, 1L);
+
+        //then
+        assertTrue(actualResult);
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.zpi.financeoptimizerservice.financial_request;
+
+import com.zpi.financeoptimizerservice.financial_request.DebtSettlement.Settlement;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinimalTransactionsSettlementTest {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    @Test
+    void shouldUseFewerTransfersThanGreedySettlement() {
+        //given
+        Map<Long, Long> balances = Map.of(1L, 400L, 2L, 300L, 3L, -300L, 4L, -200L, 5L, -200L);
+
+        //when
+        var result = MinimalTransactionsSettlement.settle(balances, NO_DEADLINE);
+
+        //then
+        assertThat(DebtSettlement.settle(balances)).hasSize(4);
+        assertThat(result).hasSize(3);
+        assertSettled(balances, result);
+    }
+
+    @Test
+    void shouldSplitIntoZeroSumClustersWithoutOppositePairs() {
+        //given
+        Map<Long, Long> balances = Map.of(1L, 500L, 2L, -200L, 3L, -300L, 4L, 700L, 5L, -100L, 6L, -600L);
+
+        //when
+        var result = MinimalTransactionsSettlement.settle(balances, NO_DEADLINE);
+
+        //then
+        assertThat(result).hasSize(4);
+        assertSettled(balances, result);
+    }
+
+    @Test
+    void shouldNeverUseMoreTransfersThanGreedySettlement() {
+        var random = new Random(20221213L);
+        for (int run = 0; run < 500; run++) {
+            //given
+            var balances = randomBalances(random, 2 + random.nextInt(15), 5);
+
+            //when
+            var result = MinimalTransactionsSettlement.settle(balances, NO_DEADLINE);
+
+            //then
+            assertThat(result.size()).as("balances %s", balances).isLessThanOrEqualTo(DebtSettlement.settle(balances).size());
+            assertSettled(balances, result);
+        }
+    }
+
+    @Test
+    void shouldFallBackToGreedySettlementAfterDeadline() {
+        //given
+        var balances = randomBalances(new Random(3L), MinimalTransactionsSettlement.MAX_EXACT_SIZE, 1_000_000);
+
+        //when
+        var result = MinimalTransactionsSettlement.settle(balances, System.nanoTime() - 1);
+
+        //then
+        assertThat(result).isEqualTo(DebtSettlement.settle(balances));
+    }
+
+    @Test
+    void shouldSettleGroupsBiggerThanExactSearchLimit() {
+        //given
+        var balances = randomBalances(new Random(5L), 500, 1_000_000);
+
+        //when
+        var result = MinimalTransactionsSettlement.settle(balances, NO_DEADLINE);
+
+        //then
+        assertSettled(balances, result);
+    }
+
+    private Map<Long, Long> randomBalances(Random random, int users, int maxAmount) {
+        Map<Long, Long> balances = new HashMap<>();
+        var sum = 0L;
+        for (long user = 0; user < users - 1; user++) {
+            var cents = random.nextInt(2 * maxAmount + 1) - (long) maxAmount;
+            balances.put(user, cents);
+            sum += cents;
+        }
+        balances.put(users - 1L, -sum);
+        return balances;
+    }
+
+    private void assertSettled(Map<Long, Long> balances, List<Settlement> settlements) {
+        Map<Long, Long> settled = new HashMap<>(balances);
+        for (var settlement : settlements) {
+            assertThat(settlement.amountInCents()).isPositive();
+            settled.merge(settlement.debteeId(), -settlement.amountInCents(), Long::sum);
+            settled.merge(settlement.debtorId(), settlement.amountInCents(), Long::sum);
+        }
+        assertThat(settled.values()).containsOnly(0L);
+    }
+}
@@ -0,0 +1,100 @@
+package com.zpi.financeoptimizerservice.financial_request;
+
+import com.zpi.financeoptimizerservice.balance.GroupLockRepository;
+import com.zpi.financeoptimizerservice.balance.GroupWriteSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = {"app.optimization.quiet-period=2s", "app.optimization.max-delay=30s"})
+@Import({OptimizationScheduler.class, GroupWriteSerializer.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OptimizationSchedulerTest {
+
+    @Autowired
+    private OptimizationScheduler optimizationScheduler;
+
+    @Autowired
+    private GroupWriteSerializer groupWriteSerializer;
+
+    @Autowired
+    private GroupLockRepository groupLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private FinancialRequestOptimizer financialRequestOptimizer;
+
+    @Test
+    void shouldOptimizeGroupOnceAfterQuietPeriod() {
+        //given
+        var requestedAt = Instant.now();
+        requestOptimization(40L);
+        requestOptimization(40L);
+
+        //when
+        optimizationScheduler.optimizeDueGroups(requestedAt.plusSeconds(1));
+
+        //then
+        verify(financialRequestOptimizer, never()).optimizeFinancialRequestsIn(40L);
+        assertThat(groupLockRepository.findById(40L).orElseThrow().isOptimizationPending()).isTrue();
+
+        //when
+        optimizationScheduler.optimizeDueGroups(Instant.now().plusSeconds(3));
+
+        //then
+        verify(financialRequestOptimizer, times(1)).optimizeFinancialRequestsIn(40L);
+        assertThat(groupLockRepository.findById(40L).orElseThrow().isOptimizationPending()).isFalse();
+    }
+
+    @Test
+    void shouldPostponeOptimizationByAtMostMaxDelay() {
+        //given
+        var pendingSince = Instant.now().minusSeconds(29).truncatedTo(ChronoUnit.MILLIS);
+
+        //when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            var groupLock = groupWriteSerializer.acquire(41L);
+            groupLock.setOptimizationPendingSince(pendingSince);
+            optimizationScheduler.requestOptimization(groupLock);
+        });
+
+        //then
+        var groupLock = groupLockRepository.findById(41L).orElseThrow();
+        assertThat(groupLock.getOptimizationDueAt()).isEqualTo(pendingSince.plus(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void shouldKeepGroupDueWhenOptimizationFails() {
+        //given
+        requestOptimization(42L);
+        doThrow(new IllegalStateException("failure")).when(financialRequestOptimizer).optimizeFinancialRequestsIn(42L);
+
+        //when
+        optimizationScheduler.optimizeDueGroups(Instant.now().plusSeconds(3));
+
+        //then
+        assertThat(groupLockRepository.findById(42L).orElseThrow().isOptimizationPending()).isTrue();
+    }
+
+    private void requestOptimization(Long groupId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> optimizationScheduler.requestOptimization(groupWriteSerializer.acquire(groupId)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.zpi.financeoptimizerservice.financial_request;
+
+import com.zpi.financeoptimizerservice.balance.GroupLock;
+import com.zpi.financeoptimizerservice.balance.GroupWriteSerializer;
+import com.zpi.financeoptimizerservice.commons.SettlementMode;
+import com.zpi.financeoptimizerservice.proxies.UserGroupProxy;
+import com.zpi.financeoptimizerservice.security.CustomUsernamePasswordAuthenticationToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class SettlementSettingsServiceTest {
+
+    @MockBean
+    GroupSettlementSettingsRepository groupSettlementSettingsRepository;
+
+    @MockBean
+    GroupWriteSerializer groupWriteSerializer;
+
+    @MockBean
+    OptimizationScheduler optimizationScheduler;
+
+    @MockBean
+    UserGroupProxy userGroupProxy;
+
+    @Autowired
+    SettlementSettingsService settlementSettingsService;
+
+    void mockAuthorizeCoordinatorAspect(){
+        Authentication authentication = new CustomUsernamePasswordAuthenticationToken(null, null, 1L);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        doReturn(Boolean.TRUE).when(userGroupProxy).isUserCoordinator(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void shouldRequestOptimizationWhenSettlementModeChanges() {
+        //given
+        mockAuthorizeCoordinatorAspect();
+        var groupLock = new GroupLock(1L);
+        when(groupWriteSerializer.acquire(1L)).thenReturn(groupLock);
+        when(groupSettlementSettingsRepository.settlementModeOf(1L)).thenReturn(SettlementMode.GREEDY);
+
+        //when
+        settlementSettingsService.setSettlementMode(1L, SettlementMode.MINIMAL_TRANSACTIONS);
+
+        //then
+        var order = inOrder(groupWriteSerializer, groupSettlementSettingsRepository, optimizationScheduler);
+        order.verify(groupWriteSerializer).acquire(1L);
+        order.verify(groupSettlementSettingsRepository).save(any(GroupSettlementSettings.class));
+        order.verify(optimizationScheduler).requestOptimization(groupLock);
+    }
+
+    @Test
+    void shouldNotRequestOptimizationWhenSettlementModeIsUnchanged() {
+        //given
+        mockAuthorizeCoordinatorAspect();
+        when(groupWriteSerializer.acquire(1L)).thenReturn(new GroupLock(1L));
+        when(groupSettlementSettingsRepository.settlementModeOf(1L)).thenReturn(SettlementMode.GREEDY);
+
+        //when
+        settlementSettingsService.setSettlementMode(1L, SettlementMode.GREEDY);
+
+        //then
+        verify(optimizationScheduler, never()).requestOptimization(any(GroupLock.class));
+    }
+}
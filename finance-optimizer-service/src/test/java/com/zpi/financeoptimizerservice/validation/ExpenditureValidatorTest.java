@@ -1,10 +1,13 @@
 package com.zpi.financeoptimizerservice.validation;
 
+import com.zpi.financeoptimizerservice.commons.Money;
 import com.zpi.financeoptimizerservice.dto.ExpenditureInputDto;
 import com.zpi.financeoptimizerservice.exceptions.ExpenditureValidationException;
+import com.zpi.financeoptimizerservice.expenditure.Expenditure;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -15,13 +18,13 @@ class ExpenditureValidatorTest {
 
     @Test
     void shouldNotThrowExceptionWhenExpenditureInputIsValid() {
-        ExpenditureInputDto expenditureInputDto = new ExpenditureInputDto(1L, "Title", 12.22, List.of(1L, 2L));
+        ExpenditureInputDto expenditureInputDto = new ExpenditureInputDto(1L, "Title", new BigDecimal("12.22"), List.of(1L, 2L));
         assertDoesNotThrow(() -> expenditureValidator.validateExpenditureInput(expenditureInputDto));
     }
 
     @Test
     void shouldThrowExceptionWhenSomeFieldIsNotPresent() {
-        ExpenditureInputDto expenditureInputDto = new ExpenditureInputDto(1L, null, 12.22, List.of(1L, 2L));
+        ExpenditureInputDto expenditureInputDto = new ExpenditureInputDto(1L, null, new BigDecimal("12.22"), List.of(1L, 2L));
         ExpenditureValidationException exception = assertThrows(ExpenditureValidationException.class,
                 () -> expenditureValidator.validateExpenditureInput(expenditureInputDto));
         assertEquals("Field title cannot be blank", exception.getMessage());
@@ -30,7 +33,7 @@ class ExpenditureValidatorTest {
     @Test
     void shouldThrowExceptionWhenTitleOutOfBounds() {
         String outOfBoundsString = "longStringlongStringlongStringlongStringlongStringlongStringlongStringlongString";
-        ExpenditureInputDto expenditureInputDto = new ExpenditureInputDto(1L, outOfBoundsString, 12.22, List.of(1L, 2L));
+        ExpenditureInputDto expenditureInputDto = new ExpenditureInputDto(1L, outOfBoundsString, new BigDecimal("12.22"), List.of(1L, 2L));
         ExpenditureValidationException exception = assertThrows(ExpenditureValidationException.class,
                 () -> expenditureValidator.validateExpenditureInput(expenditureInputDto));
         assertEquals("Title has to be at most 60 characters long", exception.getMessage());
@@ -38,11 +41,76 @@ class ExpenditureValidatorTest {
 
     @Test
     void shouldThrowExceptionWhenPriceOutOfBounds() {
-        ExpenditureInputDto expenditureInputDto = new ExpenditureInputDto(1L, "Title", 0.001, List.of(1L, 2L));
+        ExpenditureInputDto expenditureInputDto = new ExpenditureInputDto(1L, "Title", new BigDecimal("0.001"), List.of(1L, 2L));
         ExpenditureValidationException exception = assertThrows(ExpenditureValidationException.class,
                 () -> expenditureValidator.validateExpenditureInput(expenditureInputDto));
         assertEquals("Price has to be in range [0.01, 999_999_999]", exception.getMessage());
     }
 
+    @Test
+    void shouldThrowExceptionWhenPriceHasMoreThanTwoFractionDigits() {
+        ExpenditureInputDto expenditureInputDto = new ExpenditureInputDto(1L, "Title", new BigDecimal("12.225"), List.of(1L, 2L));
+        ExpenditureValidationException exception = assertThrows(ExpenditureValidationException.class,
+                () -> expenditureValidator.validateExpenditureInput(expenditureInputDto));
+        assertEquals("Price can have at most 2 fraction digits", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenPricePerDebtorIsLessThanCent() {
+        ExpenditureInputDto expenditureInputDto = new ExpenditureInputDto(1L, "Title", new BigDecimal("0.02"), List.of(1L, 2L, 3L));
+        ExpenditureValidationException exception = assertThrows(ExpenditureValidationException.class,
+                () -> expenditureValidator.validateExpenditureInput(expenditureInputDto));
+        assertEquals("Price per debtor has to be greater or equal to 0.01", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowExceptionWithRowNumberWhenImportedExpenditureIsInvalid() {
+        List<ExpenditureInputDto> expenditureInputDtos = List.of(
+                new ExpenditureInputDto(1L, "Title", new BigDecimal("12.22"), List.of(1L, 2L)),
+                new ExpenditureInputDto(1L, " ", new BigDecimal("12.22"), List.of(1L, 2L)));
+        ExpenditureValidationException exception = assertThrows(ExpenditureValidationException.class,
+                () -> expenditureValidator.validateExpenditureInputs(expenditureInputDtos));
+        assertEquals("Row 2: Field title cannot be blank", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenImportIsEmpty() {
+        ExpenditureValidationException exception = assertThrows(ExpenditureValidationException.class,
+                () -> expenditureValidator.validateExpenditureInputs(List.of()));
+        assertEquals("Import must contain atleast one expenditure", exception.getMessage());
+    }
+
+    @Test
+    void shouldNotThrowExceptionWhenEditChangesOnlyTitle() {
+        Expenditure expenditure = new Expenditure("Title", Money.ofMinor(1000), 1L, 1L, List.of(1L, 2L));
+        ExpenditureInputDto edit = new ExpenditureInputDto(null, "Changed Title", null, null);
+        assertDoesNotThrow(() -> expenditureValidator.validateExpenditureEdit(expenditure, edit));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenEditedPriceHasMoreThanTwoFractionDigits() {
+        Expenditure expenditure = new Expenditure("Title", Money.ofMinor(1000), 1L, 1L, List.of(1L, 2L));
+        ExpenditureInputDto edit = new ExpenditureInputDto(null, null, new BigDecimal("12.225"), null);
+        ExpenditureValidationException exception = assertThrows(ExpenditureValidationException.class,
+                () -> expenditureValidator.validateExpenditureEdit(expenditure, edit));
+        assertEquals("Price can have at most 2 fraction digits", exception.getMessage());
+    }
 
-}
\ No newline at end of file
+    @Test
+    void shouldThrowExceptionWhenEditedPriceIsNotPositive() {
+        Expenditure expenditure = new Expenditure("Title", Money.ofMinor(1000), 1L, 1L, List.of(1L, 2L));
+        ExpenditureInputDto edit = new ExpenditureInputDto(null, null, new BigDecimal("-5.00"), null);
+        ExpenditureValidationException exception = assertThrows(ExpenditureValidationException.class,
+                () -> expenditureValidator.validateExpenditureEdit(expenditure, edit));
+        assertEquals("Price has to be in range [0.01, 999_999_999]", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenEditedDebtorsLeaveLessThanCentPerDebtor() {
+        Expenditure expenditure = new Expenditure("Title", Money.ofMinor(2), 1L, 1L, List.of(1L, 2L));
+        ExpenditureInputDto edit = new ExpenditureInputDto(null, null, null, List.of(1L, 2L, 3L));
+        ExpenditureValidationException exception = assertThrows(ExpenditureValidationException.class,
+                () -> expenditureValidator.validateExpenditureEdit(expenditure, edit));
+        assertEquals("Price per debtor has to be greater or equal to 0.01", exception.getMessage());
+    }
+}
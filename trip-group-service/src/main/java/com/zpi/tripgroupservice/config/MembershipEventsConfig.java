@@ -0,0 +1,26 @@
+package com.zpi.tripgroupservice.config;
+
+import com.zpi.tripgroupservice.dto.MembershipChangedEvent;
+import com.zpi.tripgroupservice.user_group.UserGroupKey;
+import com.zpi.tripgroupservice.user_group.UserRoleCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Consumer;
+
+@Configuration
+public class MembershipEventsConfig {
+
+    /**
+     * Evicts roles changed through other nodes of this service, the node that made the change has evicted them already.
+     */
+    @Bean
+    public Consumer<MembershipChangedEvent> roleCacheEviction(UserRoleCache userRoleCache) {
+        return event -> {
+            if (event.userId() == null)
+                userRoleCache.invalidateGroup(event.groupId());
+            else
+                userRoleCache.invalidate(new UserGroupKey(event.userId(), event.groupId()));
+        };
+    }
+}
@@ -10,4 +10,11 @@ import java.time.LocalDate;
 public record TripExtendedDataDto(Long groupId, String name, Currency currency, String description,
                                   String destinationLocation, LocalDate startDate, LocalDate endDate,
                                   Double latitude, Double longitude, GroupStage groupStage, Integer participantsNum) {
+
+    public TripExtendedDataDto(Long groupId, String name, Currency currency, String description,
+                               String destinationLocation, LocalDate startDate, LocalDate endDate,
+                               Double latitude, Double longitude, GroupStage groupStage, Long participantsNum) {
+        this(groupId, name, currency, description, destinationLocation, startDate, endDate, latitude, longitude,
+             groupStage, participantsNum.intValue());
+    }
 }
@@ -0,0 +1,50 @@
+package com.zpi.tripgroupservice.google_api;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Geocoding result of a normalized address. Rows are keyed by a hash of the address, so addresses of any length
+ * fit the key.
+ */
+@Entity
+@Table(name = "geocoded_address")
+@Getter
+@NoArgsConstructor
+public class GeocodedLocation {
+
+    @Id
+    @Column(name = "address_hash", nullable = false, length = 64)
+    private String addressHash;
+
+    @Column(name = "address", nullable = false, columnDefinition = "TEXT")
+    private String address;
+
+    @Column(name = "latitude", nullable = false)
+    private Double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    private Double longitude;
+
+    @Column(name = "geocoded_at", nullable = false)
+    private LocalDateTime geocodedAt;
+
+    public GeocodedLocation(String address, Double latitude, Double longitude) {
+        this.addressHash = hashOf(address);
+        this.address = address;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.geocodedAt = LocalDateTime.now();
+    }
+
+    public static String hashOf(String address) {
+        return new DigestUtils("SHA3-256").digestAsHex(address);
+    }
+}
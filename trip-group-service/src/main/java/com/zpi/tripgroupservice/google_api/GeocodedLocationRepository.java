@@ -0,0 +1,8 @@
+package com.zpi.tripgroupservice.google_api;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GeocodedLocationRepository extends JpaRepository<GeocodedLocation, String> {
+}
@@ -0,0 +1,27 @@
+package com.zpi.tripgroupservice.google_api;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.transaction.Transactional;
+import java.util.Optional;
+
+/**
+ * Persists geocoding results in their own transaction, so that a concurrent insert of the same address by
+ * another node never rolls back the group operation that triggered the lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class GeocodedLocationStore {
+    private final GeocodedLocationRepository geocodedLocationRepository;
+
+    public Optional<GeocodedLocation> find(String address) {
+        return geocodedLocationRepository.findById(GeocodedLocation.hashOf(address))
+                                          .filter(location -> location.getAddress().equals(address));
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void store(GeocodedLocation location) {
+        geocodedLocationRepository.save(location);
+    }
+}
@@ -5,16 +5,23 @@ import com.google.maps.GeocodingApi;
 import com.google.maps.errors.ApiException;
 import com.google.maps.model.GeocodingResult;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.zpi.tripgroupservice.commons.Utils.LATITUDE_INDEX;
 import static com.zpi.tripgroupservice.commons.Utils.LONGITUDE_INDEX;
 
+@Slf4j
 @RequiredArgsConstructor
 @Component
 public class Geolocation {
@@ -22,12 +29,48 @@ public class Geolocation {
     @Qualifier("context")
     private final GeoApiContext context;
 
+    private final GeocodedLocationStore geocodedLocationStore;
+
+    private final Map<String, CompletableFuture<Double[]>> inFlight = new ConcurrentHashMap<>();
+
+    private static final String LOCATION_NOT_FOUND = "We cannot find your starting location. Please check or change starting point.";
 
     public GeoApiContext context() {
         return context;
     }
 
+    /**
+     * Returns coordinates of the location, geocoding it only if the normalized address is not stored yet.
+     * Concurrent lookups of the same address share a single geocoding request.
+     */
     public Double[] findCoordinates(String startLocation) {
+        if (startLocation == null || startLocation.isBlank())
+            throw new IllegalArgumentException(LOCATION_NOT_FOUND);
+
+        var address = normalize(startLocation);
+        var stored = geocodedLocationStore.find(address);
+        if (stored.isPresent())
+            return toCoordinates(stored.get());
+
+        var request = new CompletableFuture<Double[]>();
+        var existing = inFlight.putIfAbsent(address, request);
+        if (existing != null)
+            return join(existing);
+
+        try {
+            var coordinates = geocode(startLocation);
+            storeQuietly(new GeocodedLocation(address, coordinates[LATITUDE_INDEX], coordinates[LONGITUDE_INDEX]));
+            request.complete(coordinates);
+            return coordinates;
+        } catch (RuntimeException e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(address, request);
+        }
+    }
+
+    private Double[] geocode(String startLocation) {
         var result = new Double[2];
         try {
             GeocodingResult[] results = GeocodingApi.geocode(context(), startLocation).await();
@@ -36,9 +79,41 @@ public class Geolocation {
 
             result[LATITUDE_INDEX] = latitude;
             result[LONGITUDE_INDEX] = longitude;
-        } catch (ArrayIndexOutOfBoundsException | ApiException | InterruptedException | IOException e){
-            throw new IllegalArgumentException("We cannot find your starting location. Please check or change starting point.");
+        } catch (ArrayIndexOutOfBoundsException | ApiException | IOException e){
+            throw new IllegalArgumentException(LOCATION_NOT_FOUND);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalArgumentException(LOCATION_NOT_FOUND);
         }
         return result;
     }
+
+    private void storeQuietly(GeocodedLocation location) {
+        try {
+            geocodedLocationStore.store(location);
+        } catch (RuntimeException e) {
+            log.warn("Could not store geocoded location " + location.getAddress() + ": " + e.getMessage());
+        }
+    }
+
+    private Double[] join(CompletableFuture<Double[]> request) {
+        try {
+            return request.join().clone();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    private static Double[] toCoordinates(GeocodedLocation location) {
+        var result = new Double[2];
+        result[LATITUDE_INDEX] = location.getLatitude();
+        result[LONGITUDE_INDEX] = location.getLongitude();
+        return result;
+    }
+
+    static String normalize(String address) {
+        return address.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
 }
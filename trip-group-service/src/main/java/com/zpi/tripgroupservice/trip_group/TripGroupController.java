@@ -5,7 +5,6 @@ import com.zpi.tripgroupservice.commons.Role;
 import com.zpi.tripgroupservice.dto.*;
 import com.zpi.tripgroupservice.user_group.UserGroup;
 import com.zpi.tripgroupservice.user_group.UserGroupKey;
-import com.zpi.tripgroupservice.user_group.UserGroupRepository;
 import com.zpi.tripgroupservice.user_group.UserGroupService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -21,7 +20,7 @@ import java.util.List;
 public class TripGroupController {
     private final TripGroupService tripGroupService;
     private final TripGroupRepository tripGroupRepository;
-    private final UserGroupRepository userGroupRepository;
+    private final UserGroupService userGroupService;
 
     @GetMapping("/groups/{userId}")
     public ResponseEntity<List<TripExtendedDataDto>> getAllGroupsForUser(@PathVariable Long userId) {
@@ -103,7 +102,7 @@ public class TripGroupController {
         var userData10 = new UserGroup(new UserGroupKey(4L, tripGroup5.getGroupId()), Role.PARTICIPANT);
 
 
-        userGroupRepository.saveAll(List.of(userData1, userData2, userData3, userData4, userData5, userData6, userData7, userData8, userData9, userData10));
+        userGroupService.createUserGroups(List.of(userData1, userData2, userData3, userData4, userData5, userData6, userData7, userData8, userData9, userData10));
 
         return "Created sample data";
     }
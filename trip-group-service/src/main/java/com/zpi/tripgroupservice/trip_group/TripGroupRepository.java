@@ -1,6 +1,7 @@
 package com.zpi.tripgroupservice.trip_group;
 
 import com.zpi.tripgroupservice.dto.TripDataDto;
+import com.zpi.tripgroupservice.dto.TripExtendedDataDto;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,8 +11,13 @@ import java.util.Optional;
 @Repository
 public interface TripGroupRepository extends JpaRepository<TripGroup, Long> {
 
-    @Query("SELECT tg FROM TripGroup tg JOIN UserGroup ug ON tg.groupId = ug.id.groupId AND ug.id.userId =?1")
-    List<TripGroup> findAllGroupsForUser(Long userId);
+    @Query("SELECT new com.zpi.tripgroupservice.dto.TripExtendedDataDto(tg.groupId, tg.name, tg.currency, tg.description, " +
+            "tg.destinationLocation, tg.startDate, tg.endDate, tg.latitude, tg.longitude, tg.groupStage, COUNT(participant.id.userId)) " +
+            "FROM TripGroup tg JOIN UserGroup ug ON tg.groupId = ug.id.groupId AND ug.id.userId =?1 " +
+            "JOIN UserGroup participant ON tg.groupId = participant.id.groupId " +
+            "GROUP BY tg.groupId, tg.name, tg.currency, tg.description, tg.destinationLocation, tg.startDate, tg.endDate, " +
+            "tg.latitude, tg.longitude, tg.groupStage")
+    List<TripExtendedDataDto> findAllGroupsWithParticipantsNumberForUser(Long userId);
 
     @Query("SELECT new com.zpi.tripgroupservice.dto.TripDataDto(tg.destinationLocation, tg.startDate, tg.endDate, tg.latitude, tg.longitude) FROM TripGroup  tg WHERE tg.groupId =?1")
     Optional<TripDataDto> findTripData(Long groupId);
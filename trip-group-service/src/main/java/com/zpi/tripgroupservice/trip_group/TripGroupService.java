@@ -40,21 +40,7 @@ public class TripGroupService {
         if (userId == null) {
             throw new IllegalArgumentException(ExceptionInfo.INVALID_USER_ID);
         }
-        var tripGroups = tripGroupRepository.findAllGroupsForUser(userId);
-        return tripGroups.stream()
-                .map(group -> new TripExtendedDataDto(
-                        group.getGroupId(),
-                        group.getName(),
-                        group.getCurrency(),
-                        group.getDescription(),
-                        group.getDestinationLocation(),
-                        group.getStartDate(),
-                        group.getEndDate(),
-                        group.getLatitude(),
-                        group.getLongitude(),
-                        group.getGroupStage(),
-                        userGroupService.getNumberOfParticipants(group.getGroupId())
-                )).toList();
+        return tripGroupRepository.findAllGroupsWithParticipantsNumberForUser(userId);
     }
 
 
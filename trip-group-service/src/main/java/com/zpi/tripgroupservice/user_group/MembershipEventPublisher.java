@@ -0,0 +1,45 @@
+package com.zpi.tripgroupservice.user_group;
+
+import com.zpi.tripgroupservice.dto.MembershipChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Notifies other services about membership changes so they can drop cached authorization results. Events are
+ * sent after the surrounding transaction commits; a failed send is only logged, as consumers expire their
+ * caches anyway.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MembershipEventPublisher {
+    private static final String BINDING = "membershipChanged-out-0";
+
+    private final StreamBridge streamBridge;
+
+    public void publish(Long groupId, Long userId) {
+        var event = new MembershipChangedEvent(groupId, userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+        } else {
+            send(event);
+        }
+    }
+
+    private void send(MembershipChangedEvent event) {
+        try {
+            streamBridge.send(BINDING, event);
+        } catch (RuntimeException e) {
+            log.warn("Publishing " + event + " failed: " + e.getMessage());
+        }
+    }
+}
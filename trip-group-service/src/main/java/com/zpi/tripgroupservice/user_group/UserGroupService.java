@@ -11,6 +11,7 @@ import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static com.zpi.tripgroupservice.exception.ExceptionInfo.USER_GROUP_NOT_FOUND;
@@ -20,16 +21,28 @@ import static com.zpi.tripgroupservice.exception.ExceptionInfo.USER_GROUP_NOT_FO
 public class UserGroupService {
     private final UserGroupRepository userGroupRepository;
     private final AppUserProxy appUserProxy;
+    private final UserRoleCache userRoleCache;
+    private final MembershipEventPublisher membershipEventPublisher;
     private static final String INNER_COMMUNICATION = "microserviceCommunication";
 
     public UserGroup createUserGroup(Long creatorId, Long groupId) {
         var userGroup = new UserGroup(new UserGroupKey(creatorId,groupId), Role.COORDINATOR);
-        return userGroupRepository.save(userGroup);
+        var result = userGroupRepository.save(userGroup);
+        membershipChanged(userGroup.getId());
+        return result;
     }
 
     public UserGroup createUserGroup(UserGroupKey key, Role role) {
         var userGroup = new UserGroup(key, role);
-        return userGroupRepository.save(userGroup);
+        var result = userGroupRepository.save(userGroup);
+        membershipChanged(key);
+        return result;
+    }
+
+    public List<UserGroup> createUserGroups(List<UserGroup> userGroups) {
+        var result = userGroupRepository.saveAll(userGroups);
+        userGroups.forEach(userGroup -> membershipChanged(userGroup.getId()));
+        return result;
     }
 
     public boolean exists(UserGroupKey key) {
@@ -42,27 +55,38 @@ public class UserGroupService {
     }
 
     public boolean isUserCoordinator(Long userId, Long groupId) {
-        UserGroup userGroup = userGroupRepository.findById(new UserGroupKey(userId, groupId)).orElse(null);
-        if(userGroup != null)
-            return userGroup.getRole().equals(Role.COORDINATOR);
-        else return false;
+        return getRole(userId, groupId).map(Role.COORDINATOR::equals).orElse(false);
     }
 
     public void deletionGroupCleanUp(Long groupId) {
         List<UserGroup> userGroups = userGroupRepository.findAllById_GroupId(groupId);
         if(userGroups.isEmpty()) throw new ApiRequestException(ExceptionInfo.USER_GROUP_ENTITY_NOT_FOUND);
         userGroupRepository.deleteAll(userGroups);
+        userGroups.forEach(userGroup -> userRoleCache.invalidate(userGroup.getId()));
+        membershipEventPublisher.publish(groupId, null);
     }
 
     public Boolean checkIfUserIsInGroup(Long userId, Long groupId){
         if(userId == null || groupId == null || userId < 0 || groupId < 0){
             throw new IllegalArgumentException(ExceptionInfo.INVALID_USER_ID_GROUP_ID);
         }
-        return userGroupRepository.existsById(new UserGroupKey(userId, groupId));
+        return getRole(userId, groupId).isPresent();
     }
 
     public void deleteUserFromGroup(Long groupId, Long userId) {
-        userGroupRepository.deleteById(new UserGroupKey(userId, groupId));
+        var key = new UserGroupKey(userId, groupId);
+        userGroupRepository.deleteById(key);
+        membershipChanged(key);
+    }
+
+    private void membershipChanged(UserGroupKey key) {
+        userRoleCache.invalidate(key);
+        membershipEventPublisher.publish(key.getGroupId(), key.getUserId());
+    }
+
+    private Optional<Role> getRole(Long userId, Long groupId) {
+        return userRoleCache.getRole(new UserGroupKey(userId, groupId),
+                                     key -> userGroupRepository.findById(key).map(UserGroup::getRole));
     }
 
     public Integer getNumberOfParticipants(Long groupId) {
@@ -113,5 +137,6 @@ public class UserGroupService {
         var userGroup = userGroupRepository.findById(new UserGroupKey(userId, groupId)).orElseThrow(() -> new ApiRequestException(USER_GROUP_NOT_FOUND));
         userGroup.setRole(Role.COORDINATOR);
         userGroupRepository.save(userGroup);
+        membershipChanged(userGroup.getId());
     }
 }
@@ -0,0 +1,98 @@
+package com.zpi.tripgroupservice.user_group;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zpi.tripgroupservice.commons.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Roles of users in groups, cached on this node and memoized for the current HTTP request so authorization
+ * checks do not hit the database. Absent membership is not cached, so a user who has just joined through another
+ * node is seen at once. Every change of membership or role has to be followed by {@link #invalidate(UserGroupKey)},
+ * other nodes evict their entries on the membership event and the ttl bounds staleness when an event is lost.
+ */
+@Component
+public class UserRoleCache {
+
+    private static final String REQUEST_MEMO = UserRoleCache.class.getName() + ".memo";
+
+    private final Cache<UserGroupKey, Role> roles;
+
+    public UserRoleCache(@Value("${app.role-cache.ttl:10m}") Duration ttl,
+                         @Value("${app.role-cache.maximum-size:100000}") long maximumSize) {
+        this.roles = Caffeine.newBuilder()
+                             .expireAfterWrite(ttl)
+                             .maximumSize(maximumSize)
+                             .build();
+    }
+
+    public Optional<Role> getRole(UserGroupKey key, Function<UserGroupKey, Optional<Role>> loader) {
+        var memo = requestMemo();
+        if (memo == null)
+            return load(key, loader);
+
+        return memo.computeIfAbsent(key, k -> load(k, loader));
+    }
+
+    /**
+     * Evicts the key now and once more after the surrounding transaction commits, so a concurrent lookup cannot
+     * cache the role read before the commit.
+     */
+    public void invalidate(UserGroupKey key) {
+        evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * Evicts every user of the group, without waiting for a transaction, as it follows a change already committed.
+     */
+    public void invalidateGroup(Long groupId) {
+        roles.asMap().keySet().removeIf(key -> key.getGroupId().equals(groupId));
+        var memo = requestMemo();
+        if (memo != null)
+            memo.keySet().removeIf(key -> key.getGroupId().equals(groupId));
+    }
+
+    private Optional<Role> load(UserGroupKey key, Function<UserGroupKey, Optional<Role>> loader) {
+        return Optional.ofNullable(roles.get(key, k -> loader.apply(k).orElse(null)));
+    }
+
+    private void evict(UserGroupKey key) {
+        roles.invalidate(key);
+        var memo = requestMemo();
+        if (memo != null)
+            memo.remove(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<UserGroupKey, Optional<Role>> requestMemo() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null)
+            return null;
+
+        var memo = (Map<UserGroupKey, Optional<Role>>) attributes.getAttribute(REQUEST_MEMO, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(REQUEST_MEMO, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+}
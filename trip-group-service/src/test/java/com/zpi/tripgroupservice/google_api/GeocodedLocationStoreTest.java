@@ -0,0 +1,32 @@
+package com.zpi.tripgroupservice.google_api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@Import(GeocodedLocationStore.class)
+class GeocodedLocationStoreTest {
+
+    @Autowired
+    GeocodedLocationStore geocodedLocationStore;
+
+    @Test
+    void shouldStoreLocationWithLongAddress() {
+        //given
+        var address = "ulica " + "bardzo dluga nazwa ".repeat(20) + "1, 50-001 wroclaw";
+
+        //when
+        geocodedLocationStore.store(new GeocodedLocation(address, 51.11, 17.03));
+        var result = geocodedLocationStore.find(address);
+
+        //then
+        assertThat(result).hasValueSatisfying(location -> assertThat(location.getLatitude()).isEqualTo(51.11));
+        assertThat(geocodedLocationStore.find("wroclaw")).isEmpty();
+    }
+}
@@ -0,0 +1,116 @@
+package com.zpi.tripgroupservice.google_api;
+
+import com.google.maps.GeoApiContext;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.zpi.tripgroupservice.commons.Utils.LATITUDE_INDEX;
+import static com.zpi.tripgroupservice.commons.Utils.LONGITUDE_INDEX;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class GeolocationTest {
+
+    HttpServer server;
+
+    AtomicInteger geocodingRequests;
+
+    GeocodedLocationStore geocodedLocationStore;
+
+    Geolocation geolocation;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        geocodingRequests = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/maps/api/geocode/json", exchange -> {
+            geocodingRequests.incrementAndGet();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            var body = "{\"status\":\"OK\",\"results\":[{\"geometry\":{\"location\":{\"lat\":48.856614,\"lng\":2.3522219}}}]}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        var context = new GeoApiContext.Builder().apiKey("AIzaTestKey")
+                                                 .baseUrlOverride("http://localhost:" + server.getAddress().getPort())
+                                                 .disableRetries()
+                                                 .build();
+        geocodedLocationStore = mock(GeocodedLocationStore.class);
+        geolocation = new Geolocation(context, geocodedLocationStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldReturnStoredCoordinatesWithoutGeocoding() {
+        //given
+        when(geocodedLocationStore.find("paris")).thenReturn(Optional.of(new GeocodedLocation("paris", 48.86, 2.35)));
+
+        //when
+        var result = geolocation.findCoordinates("  Paris ");
+
+        //then
+        assertEquals(0, geocodingRequests.get());
+        assertEquals(48.86, result[LATITUDE_INDEX]);
+        assertEquals(2.35, result[LONGITUDE_INDEX]);
+    }
+
+    @Test
+    void shouldGeocodeAndStoreMissingLocation() {
+        //given
+        when(geocodedLocationStore.find(anyString())).thenReturn(Optional.empty());
+
+        //when
+        var result = geolocation.findCoordinates("Paris");
+
+        //then
+        assertEquals(1, geocodingRequests.get());
+        assertEquals(48.86, result[LATITUDE_INDEX]);
+        assertEquals(2.35, result[LONGITUDE_INDEX]);
+        verify(geocodedLocationStore).store(argThat(location -> location.getAddress().equals("paris")));
+    }
+
+    @Test
+    void shouldShareOneRequestBetweenConcurrentLookups() {
+        //given
+        when(geocodedLocationStore.find(anyString())).thenReturn(Optional.empty());
+
+        var executor = Executors.newFixedThreadPool(5);
+
+        //when
+        var lookups = IntStream.range(0, 5)
+                               .mapToObj(i -> CompletableFuture.supplyAsync(() -> geolocation.findCoordinates("Paris"), executor))
+                               .toList();
+        var results = lookups.stream().map(CompletableFuture::join).toList();
+
+        //then
+        assertEquals(1, geocodingRequests.get());
+        results.forEach(result -> assertEquals(48.86, result[LATITUDE_INDEX]));
+        verify(geocodedLocationStore, times(1)).store(any());
+    }
+}
@@ -0,0 +1,83 @@
+package com.zpi.tripgroupservice.trip_group;
+
+import com.zpi.tripgroupservice.commons.Currency;
+import com.zpi.tripgroupservice.commons.Role;
+import com.zpi.tripgroupservice.user_group.UserGroup;
+import com.zpi.tripgroupservice.user_group.UserGroupKey;
+import com.zpi.tripgroupservice.user_group.UserGroupRepository;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TripGroupRepositoryTest {
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    TripGroupRepository tripGroupRepository;
+
+    @Autowired
+    UserGroupRepository userGroupRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    void createGroups(int groups, int participantsPerGroup) {
+        for (int i = 0; i < groups; i++) {
+            var tripGroup = tripGroupRepository.save(new TripGroup("Group " + i, Currency.PLN, "Desc", "Wroclaw"));
+            userGroupRepository.save(new UserGroup(new UserGroupKey(USER_ID, tripGroup.getGroupId()), Role.COORDINATOR));
+            for (long participant = 2; participant <= participantsPerGroup; participant++) {
+                userGroupRepository.save(new UserGroup(new UserGroupKey(participant, tripGroup.getGroupId()), Role.PARTICIPANT));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    long countStatements(Runnable action) {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void shouldReturnGroupsWithNumberOfParticipants() {
+        //given
+        createGroups(3, 4);
+        tripGroupRepository.save(new TripGroup("Other group", Currency.PLN, "Desc", "Wroclaw"));
+
+        //when
+        var result = tripGroupRepository.findAllGroupsWithParticipantsNumberForUser(USER_ID);
+
+        //then
+        assertThat(result).hasSize(3)
+                          .allSatisfy(group -> assertThat(group.participantsNum()).isEqualTo(4));
+    }
+
+    @Test
+    void shouldUseConstantNumberOfQueriesRegardlessOfGroupsNumber() {
+        //given
+        createGroups(2, 3);
+        var fewGroupsQueries = countStatements(() -> tripGroupRepository.findAllGroupsWithParticipantsNumberForUser(USER_ID));
+        createGroups(50, 3);
+
+        //when
+        var manyGroupsQueries = countStatements(() -> tripGroupRepository.findAllGroupsWithParticipantsNumberForUser(USER_ID));
+
+        //then
+        assertThat(fewGroupsQueries).isEqualTo(1);
+        assertThat(manyGroupsQueries).isEqualTo(fewGroupsQueries);
+    }
+}
@@ -76,19 +76,16 @@ class TripGroupServiceTest {
     @Test
     void shouldGetAllGroupsForUser() {
         //given
-        var groups = List.of(new TripGroup("Test", Currency.PLN, "Desc", "Wroclaw"));
-        groups.get(0).setGroupId(0L);
+        var expectedGroups = List.of(new TripExtendedDataDto(0L,"Test", Currency.PLN, "Desc", "Wroclaw"
+        , null, null, null, null, null ,2));
 
         //when
-        when(tripGroupRepository.findAllGroupsForUser(anyLong())).thenReturn(groups);
-        when(userGroupService.getNumberOfParticipants(any())).thenReturn(2);
+        when(tripGroupRepository.findAllGroupsWithParticipantsNumberForUser(anyLong())).thenReturn(expectedGroups);
         var actualResult = tripGroupService.getAllGroupsForUser(1L);
 
-        var expectedGroups = List.of(new TripExtendedDataDto(0L,"Test", Currency.PLN, "Desc", "Wrocław"
-        , null, null, null, null, null ,null));
         //then
-        verify(tripGroupRepository, times(1)).findAllGroupsForUser(anyLong());
-        verify(userGroupService, times(1)).getNumberOfParticipants(any());
+        verify(tripGroupRepository, times(1)).findAllGroupsWithParticipantsNumberForUser(anyLong());
+        verify(userGroupService, never()).getNumberOfParticipants(any());
         assertThat(actualResult).hasSameElementsAs(expectedGroups);
     }
 
@@ -99,7 +96,7 @@ class TripGroupServiceTest {
                 () -> tripGroupService.getAllGroupsForUser(null));
 
         //then
-        verify(tripGroupRepository, never()).findAllGroupsForUser(anyLong());
+        verify(tripGroupRepository, never()).findAllGroupsWithParticipantsNumberForUser(anyLong());
         assertThat(exception.getMessage()).isEqualTo("User id is invalid. Id must be a positive number");
     }
 
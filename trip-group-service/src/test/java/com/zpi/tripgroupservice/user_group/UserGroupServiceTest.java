@@ -4,12 +4,14 @@ import com.zpi.tripgroupservice.commons.Role;
 import com.zpi.tripgroupservice.exception.ApiRequestException;
 import com.zpi.tripgroupservice.proxy.AppUserProxy;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.List;
 import java.util.Optional;
@@ -28,10 +30,21 @@ class UserGroupServiceTest {
     @MockBean
     AppUserProxy appUserProxy;
 
+    @MockBean
+    MembershipEventPublisher membershipEventPublisher;
+
     @Autowired
     @InjectMocks
     UserGroupService userGroupService;
 
+    @Autowired
+    UserRoleCache userRoleCache;
+
+    @BeforeEach
+    void setUp() {
+        userRoleCache.invalidate(new UserGroupKey(1L, 1L));
+    }
+
     @Test
     void shouldSuccessfullyCreateUserGroupWithCoordinatorRole() {
         //given
@@ -149,6 +162,7 @@ class UserGroupServiceTest {
         //then
         verify(userGroupRepository, times(1)).findAllById_GroupId(anyLong());
         verify(userGroupRepository, times(1)).deleteAll(userGroups);
+        verify(membershipEventPublisher, times(1)).publish(1L, null);
     }
 
     @Test
@@ -169,12 +183,87 @@ class UserGroupServiceTest {
     @Test
     void shouldReturnTrueIfUserInGroup() {
         //when
-        when(userGroupRepository.existsById(any(UserGroupKey.class))).thenReturn(true);
+        when(userGroupRepository.findById(any(UserGroupKey.class)))
+                .thenReturn(Optional.of(new UserGroup(new UserGroupKey(1L, 1L), Role.PARTICIPANT)));
         var result = userGroupService.checkIfUserIsInGroup(1L ,1L);
 
         //then
         Assertions.assertTrue(result);
-        verify(userGroupRepository, times(1)).existsById(any());
+        verify(userGroupRepository, times(1)).findById(any());
+    }
+
+    @Test
+    void shouldReadRoleFromDatabaseOnceForRepeatedChecks() {
+        //when
+        when(userGroupRepository.findById(any(UserGroupKey.class)))
+                .thenReturn(Optional.of(new UserGroup(new UserGroupKey(1L, 1L), Role.PARTICIPANT)));
+        var isInGroup = userGroupService.checkIfUserIsInGroup(1L, 1L);
+        var isCoordinator = userGroupService.isUserCoordinator(1L, 1L);
+        var isStillInGroup = userGroupService.checkIfUserIsInGroup(1L, 1L);
+
+        //then
+        Assertions.assertTrue(isInGroup);
+        Assertions.assertFalse(isCoordinator);
+        Assertions.assertTrue(isStillInGroup);
+        verify(userGroupRepository, times(1)).findById(any());
+    }
+
+    @Test
+    void shouldReadRoleAgainAfterMembershipChanged() {
+        //given
+        var participant = new UserGroup(new UserGroupKey(1L, 1L), Role.PARTICIPANT);
+        when(userGroupRepository.findById(any(UserGroupKey.class))).thenReturn(Optional.of(participant));
+        Assertions.assertFalse(userGroupService.isUserCoordinator(1L, 1L));
+
+        //when
+        when(userGroupRepository.save(any(UserGroup.class))).thenAnswer(i -> i.getArguments()[0]);
+        userGroupService.createUserGroup(1L, 1L);
+        when(userGroupRepository.findById(any(UserGroupKey.class)))
+                .thenReturn(Optional.of(new UserGroup(new UserGroupKey(1L, 1L), Role.COORDINATOR)));
+        var isCoordinator = userGroupService.isUserCoordinator(1L, 1L);
+        userGroupService.deleteUserFromGroup(1L, 1L);
+        when(userGroupRepository.findById(any(UserGroupKey.class))).thenReturn(Optional.empty());
+        var isInGroup = userGroupService.checkIfUserIsInGroup(1L, 1L);
+
+        //then
+        Assertions.assertTrue(isCoordinator);
+        Assertions.assertFalse(isInGroup);
+        verify(userGroupRepository, times(3)).findById(any());
+    }
+
+    @Test
+    void shouldNotCacheAbsentMembership() {
+        //given
+        when(userGroupRepository.findById(any(UserGroupKey.class))).thenReturn(Optional.empty());
+        Assertions.assertFalse(userGroupService.checkIfUserIsInGroup(1L, 1L));
+
+        //when
+        // the user joins through another node and asks again in the next request
+        RequestContextHolder.resetRequestAttributes();
+        when(userGroupRepository.findById(any(UserGroupKey.class)))
+                .thenReturn(Optional.of(new UserGroup(new UserGroupKey(1L, 1L), Role.PARTICIPANT)));
+        var isInGroup = userGroupService.checkIfUserIsInGroup(1L, 1L);
+
+        //then
+        Assertions.assertTrue(isInGroup);
+        verify(userGroupRepository, times(2)).findById(any());
+    }
+
+    @Test
+    void shouldReadRoleAgainAfterGroupEvicted() {
+        //given
+        when(userGroupRepository.findById(any(UserGroupKey.class)))
+                .thenReturn(Optional.of(new UserGroup(new UserGroupKey(1L, 1L), Role.PARTICIPANT)));
+        userGroupService.checkIfUserIsInGroup(1L, 1L);
+
+        //when
+        userRoleCache.invalidateGroup(1L);
+        when(userGroupRepository.findById(any(UserGroupKey.class))).thenReturn(Optional.empty());
+        var isInGroup = userGroupService.checkIfUserIsInGroup(1L, 1L);
+
+        //then
+        Assertions.assertFalse(isInGroup);
+        verify(userGroupRepository, times(2)).findById(any());
     }
 
     @Test
@@ -185,16 +274,17 @@ class UserGroupServiceTest {
 
         //then
         assertThat(exception.getMessage()).isEqualTo("User id and group id must be positive");
-        verify(userGroupRepository, never()).existsById(any());
+        verify(userGroupRepository, never()).findById(any());
     }
 
     @Test
     void shouldSuccessfullyDeleteUserFromGroup() {
         //when
-        userGroupService.deleteUserFromGroup(1L, 1L);
+        userGroupService.deleteUserFromGroup(1L, 2L);
 
         //then
         verify(userGroupRepository, times(1)).deleteById(any(UserGroupKey.class));
+        verify(membershipEventPublisher, times(1)).publish(1L, 2L);
     }
 
     @Test